@@ -0,0 +1,40 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import edu.wpi.first.hal.HAL;
+
+/** Setup shared by the benchmarks that need the simulated HAL or the captured fixtures */
+final class BenchmarkSupport {
+    private static boolean halInitialized = false;
+
+    private BenchmarkSupport() {}
+
+    // Timer and NetworkTables go through the HAL, so anything that touches them needs this first
+    static synchronized void initHal() {
+        if (!halInitialized) {
+            if (!HAL.initialize(500, 0)) {
+                throw new IllegalStateException("Failed to initialize the HAL");
+            }
+            halInitialized = true;
+        }
+    }
+
+    static String readResource(String path) {
+        try (InputStream stream = BenchmarkSupport.class.getResourceAsStream(path)) {
+            if (stream == null) {
+                throw new IllegalStateException("Missing resource " + path);
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
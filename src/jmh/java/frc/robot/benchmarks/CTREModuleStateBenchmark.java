@@ -0,0 +1,52 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.lib.util.CTREModuleState;
+
+/**
+ * CTREModuleState.optimize over a spread of desired and current angles, including current angles
+ * several turns away from zero so the scope-placement loops run more than once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CTREModuleStateBenchmark {
+    private static final int CASES = 256;
+
+    private final SwerveModuleState[] desiredStates = new SwerveModuleState[CASES];
+    private final Rotation2d[] currentAngles = new Rotation2d[CASES];
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(364);
+        for (int i = 0; i < CASES; i++) {
+            desiredStates[i] = new SwerveModuleState(
+                random.nextDouble() * 4.0 - 2.0,
+                Rotation2d.fromDegrees(random.nextDouble() * 360.0 - 180.0));
+            currentAngles[i] = Rotation2d.fromDegrees(random.nextDouble() * 2160.0 - 1080.0);
+        }
+    }
+
+    @Benchmark
+    public SwerveModuleState optimize() {
+        index = (index + 1) & (CASES - 1);
+        return CTREModuleState.optimize(desiredStates[index], currentAngles[index]);
+    }
+}
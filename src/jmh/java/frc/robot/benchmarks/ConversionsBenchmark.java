@@ -0,0 +1,59 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import frc.robot.Constants;
+import frc.robot.lib.math.Conversions;
+
+/** The Falcon/CANCoder unit conversions each swerve module runs several times a loop */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConversionsBenchmark {
+    // not final, so the JIT can't fold the conversions into constants
+    private double positionCounts = 123456.0;
+    private double velocityCounts = 8421.0;
+    private double degrees = 137.5;
+    private double metersPerSecond = 2.75;
+
+    @Benchmark
+    public double falconToDegrees() {
+        return Conversions.falconToDegrees(positionCounts, Constants.SWERVE.ANGLE_GEAR_RATIO);
+    }
+
+    @Benchmark
+    public double degreesToFalcon() {
+        return Conversions.degreesToFalcon(degrees, Constants.SWERVE.ANGLE_GEAR_RATIO);
+    }
+
+    @Benchmark
+    public double falconToMPS() {
+        return Conversions.falconToMPS(velocityCounts, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO);
+    }
+
+    @Benchmark
+    public double MPSToFalcon() {
+        return Conversions.MPSToFalcon(metersPerSecond, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO);
+    }
+
+    @Benchmark
+    public double falconToMeters() {
+        return Conversions.falconToMeters(positionCounts, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO);
+    }
+
+    @Benchmark
+    public double CANcoderToDegrees() {
+        return Conversions.CANcoderToDegrees(positionCounts, 1.0);
+    }
+}
@@ -0,0 +1,148 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import frc.robot.Constants;
+import frc.robot.LimelightHelpers;
+import frc.robot.LimelightHelpers.LimelightResults;
+import frc.robot.LimelightHelpers.LimelightTarget_Fiducial;
+import frc.robot.LimelightHelpers.Results;
+import frc.robot.lib.vision.LimelightFrame;
+import frc.robot.lib.vision.LimelightJsonParser;
+
+/**
+ * Jackson against LimelightJsonParser on captured results. The parse benchmarks work on the
+ * string alone, the getLatest ones include the NetworkTables read of the json entry the same as
+ * on the robot. Run with -prof gc to see the allocation difference.
+ *
+ * <p>Setup parses the dump both ways and fails the run if the frame doesn't match what Jackson
+ * read, so a fast parser that reads the wrong thing can't post a number.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LimelightParseBenchmark {
+    @Param({"no_target", "single_tag", "three_tags"})
+    public String dump;
+
+    private String json;
+    private ObjectMapper mapper;
+    private final LimelightJsonParser parser = new LimelightJsonParser();
+    private final LimelightFrame frame = new LimelightFrame();
+
+    // the streaming parser can be off from Double.parseDouble in the last bit
+    private static final double TOLERANCE = 1.0E-9;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        BenchmarkSupport.initHal();
+        json = BenchmarkSupport.readResource("/limelight/" + dump + ".json");
+        // configured the same as LimelightHelpers
+        mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        checkParsersAgree();
+        NetworkTableInstance.getDefault()
+            .getTable(Constants.LIMELIGHT.NAME)
+            .getEntry("json")
+            .setString(json);
+    }
+
+    @Benchmark
+    public LimelightResults jacksonParse() throws JsonProcessingException {
+        return mapper.readValue(json, LimelightResults.class);
+    }
+
+    @Benchmark
+    public LimelightFrame streamingParse() {
+        parser.parse(json, frame);
+        return frame;
+    }
+
+    @Benchmark
+    public LimelightResults getLatestResults() {
+        return LimelightHelpers.getLatestResults(Constants.LIMELIGHT.NAME);
+    }
+
+    @Benchmark
+    public LimelightFrame getLatestFrame() {
+        return LimelightHelpers.getLatestFrame(Constants.LIMELIGHT.NAME, frame);
+    }
+
+    private void checkParsersAgree() throws JsonProcessingException {
+        Results expected = mapper.readValue(json, LimelightResults.class).targetingResults;
+        if (!parser.parse(json, frame)) {
+            throw mismatch("parse", "true", "false");
+        }
+        check("valid", expected.valid, frame.valid);
+        check("pID", expected.pipelineID, frame.pipelineID);
+        check("tl", expected.latency_pipeline, frame.latency_pipeline);
+        check("cl", expected.latency_capture, frame.latency_capture);
+        check("ts", expected.timestamp_LIMELIGHT_publish, frame.timestamp_LIMELIGHT_publish);
+        check("ts_rio", expected.timestamp_RIOFPGA_capture, frame.timestamp_RIOFPGA_capture);
+
+        double[] botpose = expected.botpose_wpiblue == null ? new double[0] : expected.botpose_wpiblue;
+        check("botpose_wpiblue length", botpose.length, frame.botpose_wpiblueLength);
+        for (int i = 0; i < Math.min(botpose.length, LimelightFrame.POSE_LENGTH); i++) {
+            check("botpose_wpiblue[" + i + "]", botpose[i], frame.botpose_wpiblue[i]);
+        }
+
+        LimelightTarget_Fiducial[] fiducials = expected.targets_Fiducials == null
+            ? new LimelightTarget_Fiducial[0] : expected.targets_Fiducials;
+        check("Fiducial count", fiducials.length, frame.fiducialCount);
+        for (int i = 0; i < frame.storedFiducials(); i++) {
+            check("Fiducial[" + i + "].fID", fiducials[i].fiducialID, frame.fiducialIDs[i]);
+            check("Fiducial[" + i + "].ta", fiducials[i].ta, frame.targetArea[i]);
+            Pose3d tagPose = toPose3d(frame.targetPose_CameraSpace[i]);
+            if (!fiducials[i].getTargetPose_CameraSpace().equals(tagPose)) {
+                throw mismatch("Fiducial[" + i + "].t6t_cs",
+                    fiducials[i].getTargetPose_CameraSpace().toString(), tagPose.toString());
+            }
+        }
+    }
+
+    // same conversion as LimelightHelpers.toPose3D
+    private static Pose3d toPose3d(double[] pose) {
+        return new Pose3d(
+            new Translation3d(pose[0], pose[1], pose[2]),
+            new Rotation3d(Units.degreesToRadians(pose[3]), Units.degreesToRadians(pose[4]),
+                Units.degreesToRadians(pose[5])));
+    }
+
+    private void check(String field, double expected, double actual) {
+        if (Math.abs(expected - actual) > TOLERANCE * Math.max(1.0, Math.abs(expected))) {
+            throw mismatch(field, Double.toString(expected), Double.toString(actual));
+        }
+    }
+
+    private void check(String field, boolean expected, boolean actual) {
+        if (expected != actual) {
+            throw mismatch(field, Boolean.toString(expected), Boolean.toString(actual));
+        }
+    }
+
+    private IllegalStateException mismatch(String field, String expected, String actual) {
+        return new IllegalStateException("LimelightJsonParser disagrees with Jackson on " + dump
+            + ".json " + field + ": expected " + expected + ", got " + actual);
+    }
+}
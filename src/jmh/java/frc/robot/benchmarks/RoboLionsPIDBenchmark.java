@@ -0,0 +1,56 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import frc.robot.Constants;
+import frc.robot.lib.RoboLionsPID;
+
+/** RoboLionsPID.execute with and without the cage/deadband path, using the balance gains */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoboLionsPIDBenchmark {
+    private final RoboLionsPID pid = new RoboLionsPID();
+    private final RoboLionsPID cagedPid = new RoboLionsPID();
+    private double feedback = 0.0;
+
+    @Setup
+    public void setup() {
+        pid.initialize(
+            Constants.BALANCE_PITCH_PID.P,
+            Constants.BALANCE_PITCH_PID.I,
+            Constants.BALANCE_PITCH_PID.D,
+            1.0);
+        cagedPid.initialize(
+            Constants.BALANCE_PITCH_PID.P,
+            Constants.BALANCE_PITCH_PID.I,
+            Constants.BALANCE_PITCH_PID.D,
+            5.0,
+            Constants.BALANCE_PITCH_PID.DEADBAND,
+            1.0);
+    }
+
+    @Benchmark
+    public double execute() {
+        feedback = feedback > 10.0 ? -10.0 : feedback + 0.01;
+        return pid.execute(0.0, feedback);
+    }
+
+    @Benchmark
+    public double executeWithCageAndDeadband() {
+        feedback = feedback > 10.0 ? -10.0 : feedback + 0.01;
+        return cagedPid.execute(0.0, feedback);
+    }
+}
@@ -0,0 +1,71 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.Constants;
+import frc.robot.lib.interfaces.Swerve.GyroIO;
+import frc.robot.lib.interfaces.Swerve.Swerve;
+import frc.robot.lib.interfaces.Swerve.SwerveModuleIO;
+
+/**
+ * The teleop drive path: field relative speeds, inverse kinematics and desaturation, measured on
+ * its own and through Swerve.drive with stub module IO.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SwerveDriveBenchmark {
+    private Swerve swerve;
+    private Translation2d translation;
+    private Rotation2d heading;
+    private double rotation = 1.5;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.initHal();
+        swerve = new Swerve(
+            new GyroIO(){},
+            new SwerveModuleIO(){},
+            new SwerveModuleIO(){},
+            new SwerveModuleIO(){},
+            new SwerveModuleIO(){});
+        // fast enough diagonally that desaturateWheelSpeeds has to scale
+        translation = new Translation2d(Constants.SWERVE.MAX_SPEED, Constants.SWERVE.MAX_SPEED * 0.5);
+        heading = Rotation2d.fromDegrees(37.0);
+    }
+
+    @Benchmark
+    public SwerveModuleState[] kinematicsAndDesaturate() {
+        SwerveModuleState[] states = Constants.SWERVE.SWERVE_KINEMATICS.toSwerveModuleStates(
+            ChassisSpeeds.fromFieldRelativeSpeeds(translation.getX(), translation.getY(), rotation, heading));
+        SwerveDriveKinematics.desaturateWheelSpeeds(states, Constants.SWERVE.MAX_SPEED);
+        return states;
+    }
+
+    @Benchmark
+    public void driveFieldRelative() {
+        swerve.drive(translation, rotation, true, true);
+    }
+
+    @Benchmark
+    public void driveRobotRelative() {
+        swerve.drive(translation, rotation, false, true);
+    }
+}
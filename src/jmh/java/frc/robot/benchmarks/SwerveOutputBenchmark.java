@@ -0,0 +1,81 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.Constants;
+import frc.robot.lib.math.Conversions;
+import frc.robot.lib.util.CTREModuleState;
+import frc.robot.lib.util.SwerveSetpoints;
+
+/**
+ * Field relative chassis speeds to the closed loop velocity and angle position demands sent to
+ * each module's Talons, through WPILib kinematics, SwerveModuleState and CTREModuleState.optimize
+ * as Swerve.drive used to, against SwerveSetpoints and the precomputed conversion factors it uses
+ * now. Current module angles are a few turns from zero so optimize has real work to do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SwerveOutputBenchmark {
+    private static final double VELOCITY_COUNTS_PER_MPS = Conversions.MPSToFalcon(1.0, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO);
+    private static final double ANGLE_COUNTS_PER_DEGREE = Conversions.degreesToFalcon(1.0, Constants.SWERVE.ANGLE_GEAR_RATIO);
+
+    private final double xSpeed = Constants.SWERVE.MAX_SPEED;
+    private final double ySpeed = Constants.SWERVE.MAX_SPEED * 0.5;
+    private final double rotation = 1.5;
+    private final double headingDegrees = 37.0;
+    private final double[] currentDegrees = {400.0, -250.0, 710.0, -45.0};
+
+    private final Rotation2d[] currentAngles = new Rotation2d[SwerveSetpoints.MODULES];
+    private final SwerveSetpoints setpoints = new SwerveSetpoints();
+    // velocity then angle position demand for each module
+    private final double[] demands = new double[SwerveSetpoints.MODULES * 2];
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < SwerveSetpoints.MODULES; i++) {
+            currentAngles[i] = Rotation2d.fromDegrees(currentDegrees[i]);
+        }
+    }
+
+    @Benchmark
+    public double[] objects() {
+        SwerveModuleState[] states = Constants.SWERVE.SWERVE_KINEMATICS.toSwerveModuleStates(
+            ChassisSpeeds.fromFieldRelativeSpeeds(xSpeed, ySpeed, rotation, Rotation2d.fromDegrees(headingDegrees)));
+        SwerveDriveKinematics.desaturateWheelSpeeds(states, Constants.SWERVE.MAX_SPEED);
+        for (int i = 0; i < states.length; i++) {
+            SwerveModuleState state = CTREModuleState.optimize(states[i], currentAngles[i]);
+            demands[i * 2] = Conversions.MPSToFalcon(state.speedMetersPerSecond, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO);
+            demands[i * 2 + 1] = Conversions.degreesToFalcon(state.angle.getDegrees(), Constants.SWERVE.ANGLE_GEAR_RATIO);
+        }
+        return demands;
+    }
+
+    @Benchmark
+    public double[] arrays() {
+        setpoints.fromFieldRelativeSpeeds(xSpeed, ySpeed, rotation, Math.toRadians(headingDegrees));
+        setpoints.desaturate(Constants.SWERVE.MAX_SPEED);
+        for (int i = 0; i < SwerveSetpoints.MODULES; i++) {
+            setpoints.optimize(i, currentDegrees[i]);
+            demands[i * 2] = setpoints.speedsMetersPerSecond[i] * VELOCITY_COUNTS_PER_MPS;
+            demands[i * 2 + 1] = setpoints.anglesDegrees[i] * ANGLE_COUNTS_PER_DEGREE;
+        }
+        return demands;
+    }
+}
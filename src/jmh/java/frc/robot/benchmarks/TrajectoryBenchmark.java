@@ -0,0 +1,89 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.pathplanner.lib.PathConstraints;
+import com.pathplanner.lib.PathPlanner;
+import com.pathplanner.lib.PathPlannerTrajectory;
+import com.pathplanner.lib.PathPoint;
+
+import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.math.trajectory.Trajectory;
+import frc.robot.Constants;
+import frc.robot.lib.auto.actions.TrajectoryAction;
+
+/**
+ * Trajectory sampling and one TrajectoryAction.update, on a generated path about the length of the
+ * scoring-to-charge-station autos. The path is generated rather than loaded so the benchmark
+ * doesn't depend on the working directory the JMH fork runs in.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrajectoryBenchmark {
+    private static final int SAMPLE_STEPS = 256;
+
+    private PathPlannerTrajectory trajectory;
+    private TrajectoryAction action;
+    private Pose2d robotPose;
+    private SwerveModuleState[] moduleStates;
+    private double sampleStep;
+    private int step = 0;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.initHal();
+        trajectory = PathPlanner.generatePath(
+            new PathConstraints(Constants.SWERVE.AUTO.MAX_SPEED, 1.75),
+            new PathPoint(new Translation2d(1.85, 4.4), Rotation2d.fromDegrees(0), Rotation2d.fromDegrees(180)),
+            new PathPoint(new Translation2d(4.0, 4.6), Rotation2d.fromDegrees(0), Rotation2d.fromDegrees(180)),
+            new PathPoint(new Translation2d(5.8, 2.75), Rotation2d.fromDegrees(-90), Rotation2d.fromDegrees(180)));
+        sampleStep = trajectory.getTotalTimeSeconds() / SAMPLE_STEPS;
+        robotPose = trajectory.getInitialHolonomicPose();
+
+        // fresh controllers, the ones in Constants are shared with the robot code
+        action = new TrajectoryAction(
+            trajectory,
+            () -> robotPose,
+            Constants.SWERVE.SWERVE_KINEMATICS,
+            new PIDController(1.0, 0, 0),
+            new PIDController(1.0, 0, 0),
+            new PIDController(1.0, 0, 0),
+            states -> moduleStates = states);
+        action.start();
+    }
+
+    @Benchmark
+    public Trajectory.State sample() {
+        step = (step + 1) % SAMPLE_STEPS;
+        return trajectory.sample(step * sampleStep);
+    }
+
+    // the action samples at its own timer, so it's restarted whenever it reaches the end of the
+    // path, otherwise every call would sample the clamped end state. The isFinished check is
+    // one timer read, the same check runAction makes before every update.
+    @Benchmark
+    public SwerveModuleState[] trajectoryActionUpdate() {
+        if (action.isFinished()) {
+            action.start();
+        }
+        action.update();
+        return moduleStates;
+    }
+}
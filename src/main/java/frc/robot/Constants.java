@@ -15,6 +15,7 @@ import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.I2C;
 import edu.wpi.first.wpilibj.XboxController;
 import edu.wpi.first.wpilibj.util.Color;
+import frc.robot.lib.log.ConsoleLog;
 import frc.robot.lib.util.SwerveModuleConstants;
 import frc.robot.lib.util.COTSFalconSwerveConstants;
 
@@ -99,12 +100,50 @@ public final class Constants {
         public static final I2C.Port COLOR_SENSOR = I2C.Port.kOnboard;
     }
 
+    /* checks and trust for every vision pose, Limelight or PhotonVision, see VisionPoseModel */
+    public static final class VISION {
+        public static final double FIELD_LENGTH_METERS = 16.54175;
+        public static final double FIELD_WIDTH_METERS = 8.0137;
+        public static final double FIELD_MARGIN_METERS = 0.5;
+        public static final double MAX_POSE_Z_METERS = 0.5;
+        public static final double MAX_SINGLE_TAG_DISTANCE_METERS = 2.5;
+        public static final double MAX_MULTI_TAG_DISTANCE_METERS = 5.0;
+        /* single-tag poses further than this from odometry at capture time are dropped, unless
+           this many in a row have been, in which case odometry is probably what's wrong */
+        public static final double MAX_SINGLE_TAG_ODOMETRY_ERROR_METERS = 1.0;
+        public static final int MAX_CONSECUTIVE_ODOMETRY_REJECTIONS = 25;
+
+        /* std devs scale with average tag distance squared over tag count */
+        public static final double XY_STD_DEV_PER_METER_SQUARED = 0.1;
+        public static final double MIN_XY_STD_DEV = 0.05;
+        public static final double THETA_STD_DEV_PER_METER_SQUARED = 0.2;
+        /* heading from one tag is worse than the gyro, effectively ignore it */
+        public static final double SINGLE_TAG_THETA_STD_DEV = 1000.0;
+    }
+
     public static final class LIMELIGHT {
         public static final String NAME = "limelight";
+        /* every camera on the robot, by NetworkTables name, e.g. add "limelight-left" */
+        public static final String[] NAMES = {NAME};
+        /* frames queued per camera between robot loops, a Limelight publishes at up to 90 Hz */
+        public static final int FRAME_QUEUE_CAPACITY = 8;
+
+        /* frame filtering on top of Constants.VISION, see LimelightPoseFilter. ta is the fraction
+           of the image, smaller single tags solve too ambiguously to use */
+        public static final double MIN_SINGLE_TAG_AREA = 0.005;
+
+        public static final double REPORT_PERIOD_SECONDS = 1.0;
+        public static final int REPORT_PRIORITY = -1;
     }
 
     public static final class SWERVE {
         public static final boolean INVERT_GYRO = false; // Always ensure Gyro is CCW+ CW-
+        /* poses kept for checking vision against, 2.5 s of odometry samples */
+        public static final int POSE_HISTORY_CAPACITY = 512;
+        /* odometry sampling, 5 ms is the fastest Phoenix 5 sends status frames */
+        public static final double ODOMETRY_RATE_HZ = 200.0;
+        /* samples held between robot loops, a few slow loops' worth */
+        public static final int ODOMETRY_QUEUE_CAPACITY = 64;
 
         public static final COTSFalconSwerveConstants CHOSEN_MODULE = 
             COTSFalconSwerveConstants.SDSMK4i(COTSFalconSwerveConstants.driveGearRatios.SDSMK4i_L2);
@@ -251,6 +290,21 @@ public final class Constants {
                                 Math.PI)); 
         // Cam mounted facing forward, half a meter forward of center, half a meter up
         // from center.
+
+        /* PhotonVision cameras on the real robot, none mounted yet, e.g. "Arducam_OV9281_USB_Camera" */
+        public static final String[] CAMERA_NAMES = {};
+        /* on top of the checks in Constants.VISION */
+        public static final double MAX_SINGLE_TAG_AMBIGUITY = 0.2;
+
+        /* simulated camera, roughly an OV9281 on a coprocessor */
+        public static final String SIM_CAMERA_NAME = "sim";
+        public static final double SIM_FRAMES_PER_SECOND = 30.0;
+        public static final double SIM_LATENCY_SECONDS = 0.035;
+        public static final double SIM_HORIZONTAL_FOV_DEGREES = 70.0;
+        public static final double SIM_VERTICAL_FOV_DEGREES = 50.0;
+        public static final double SIM_MAX_DISTANCE_METERS = 5.0;
+        public static final double SIM_XY_NOISE_PER_METER_SQUARED = 0.02;
+        public static final double SIM_THETA_NOISE_PER_METER_SQUARED = 0.01;
     }
 
     public static final class TargetPoses {
@@ -390,8 +444,122 @@ public final class Constants {
         public static final double DEADBAND = 7.0;
     }
 
-    public static final class LED { 
+    public static final class LED {
         public static final int CANdleID = 34;
+        public static final int LED_COUNT = 42;
+        /* caps how often the strip is written, the LED task runs slower than this anyway */
+        public static final double MIN_UPDATE_PERIOD_SECONDS = 0.05;
+        public static final int MAX_SEGMENTS_PER_UPDATE = 8;
+        public static final double BROWNOUT_WARNING_VOLTS = 8.0;
+        public static final double BROWNOUT_BLINK_PERIOD_SECONDS = 0.5;
+        /* the bar is empty this far from the target, same cutoff FollowTag gives up at */
+        public static final double ALIGN_MAX_DISTANCE_METERS = 2.0;
+        public static final double ALIGN_TOLERANCE_METERS = 0.05;
+    }
+
+    public static final class PROFILER {
+        /* set to false to turn every profiler call into a single branch */
+        public static final boolean ENABLED = true;
+        /* number of loops kept per stage for the percentiles, 5 seconds at 50 Hz */
+        public static final int WINDOW_SIZE = 250;
+        /* loops between percentile reports to the log */
+        public static final int REPORT_PERIOD = 50;
+        public static final double LOOP_BUDGET_SECONDS = 0.02;
+    }
+
+    public static final class CAN {
+        public static final String RIO_BUS = "rio";
+        public static final String SWERVE_BUS = "Swerve";
+
+        /* rate for signals used for control, every main loop */
+        public static final double CONTROL_RATE_HZ = 50.0;
+        /* rate for signals that are only logged */
+        public static final double TELEMETRY_RATE_HZ = 5.0;
+
+        /* status frame periods are limited to 1-255 ms by Phoenix */
+        public static final int MIN_FRAME_PERIOD_MS = 5;
+        public static final int UNUSED_FRAME_PERIOD_MS = 255;
+        /* a followed Talon's general frame carries the output its followers apply */
+        public static final int FOLLOWED_GENERAL_PERIOD_MS = 10;
+        public static final int CONFIG_TIMEOUT_MS = 50;
+
+        /* for the utilization estimate: 1 Mbit/s CAN 2.0B, extended id with 8 data bytes and typical bit stuffing */
+        public static final double BITRATE = 1.0e6;
+        public static final double BITS_PER_FRAME = 135.0;
+        public static final double TALON_CONTROL_FRAMES_PER_SECOND = 100.0;
+        public static final double REPORT_PERIOD_SECONDS = 1.0;
+        public static final int REPORT_PRIORITY = -1;
+    }
+
+    public static final class OUTPUTS {
+        /* differences smaller than these aren't worth a new command */
+        public static final double PERCENT_TOLERANCE = 0.001;
+        public static final double POSITION_TOLERANCE_TICKS = 1.0;
+        public static final double VELOCITY_TOLERANCE_TICKS = 1.0;
+        /* Phoenix resends Talon control frames itself, so Talon outputs don't need a keep-alive */
+        public static final double MOTOR_KEEP_ALIVE_SECONDS = 0.0;
+        /* CANdle colors are one-shot frames, resend now and then in case the CANdle rebooted */
+        public static final double LED_KEEP_ALIVE_SECONDS = 1.0;
+        public static final double REPORT_PERIOD_SECONDS = 1.0;
+        public static final int REPORT_PRIORITY = -1;
+    }
+
+    public static final class CONSOLE_LOG {
+        /* change at runtime with ConsoleLog.setLevel, DEBUG shows the lljson parse times */
+        public static final ConsoleLog.Level LEVEL = ConsoleLog.Level.INFO;
+    }
+
+    public static final class JOURNAL {
+        /* used when it exists, so the RIO writes where the old crash_tracking.txt went */
+        public static final String ROBOT_DIRECTORY = "/home/lvuser";
+        public static final String SIM_DIRECTORY = "logs";
+        public static final String NAME = "crash_journal";
+        public static final int BUFFER_BYTES = 64 * 1024;
+        public static final long MAX_FILE_BYTES = 1024 * 1024;
+        /* the current file plus this many minus one older ones */
+        public static final int MAX_FILES = 5;
+        public static final int MAX_TEXT_BYTES = 16 * 1024;
+        public static final double FLUSH_PERIOD_SECONDS = 1.0;
+    }
+
+    public static final class AUTO_EXECUTOR {
+        /* run each auto action update in step with the robot loop instead of sleeping between them */
+        public static final boolean LOCKSTEP = true;
+        public static final double PERIOD_SECONDS = 0.02;
+        /* an update slower than this is logged as a timeout, the main loop still waits for it until the
+           period is up, then the routine drops out of lockstep and sleeps between updates */
+        public static final double STEP_TIMEOUT_SECONDS = 0.005;
+    }
+
+    public static final class STATE_MACHINES {
+        /* how often transition evaluation cost is logged for each machine */
+        public static final double REPORT_PERIOD_SECONDS = 1.0;
+        public static final int REPORT_PRIORITY = -1;
+        /* console output on every state change, off on the robot since it's I/O on the main loop */
+        public static final boolean PRINT_TRANSITIONS = false;
+        /* states one machine can have, ids are handed out as states are first entered */
+        public static final int MAX_STATES = 32;
+        /* upper edges of the time-in-state histogram buckets, anything longer goes in one more */
+        public static final double[] DWELL_BUCKETS_SECONDS = {0.1, 0.25, 0.5, 1.0, 2.0, 5.0, 10.0};
+    }
+
+    public static final class SCHEDULER {
+        public static final double LOOP_PERIOD_SECONDS = 0.02;
+        /* time loop tasks may use per loop before lower priority ones wait a loop */
+        public static final double TASK_BUDGET_SECONDS = 0.005;
+        /* loops between task stat reports to the log */
+        public static final int REPORT_PERIOD = 50;
+
+        public static final double LED_PERIOD_SECONDS = 0.1;
+        public static final int LED_PRIORITY = 1;
+        public static final double DASHBOARD_PERIOD_SECONDS = 0.1;
+        public static final int DASHBOARD_PRIORITY = 0;
+
+        /* background CAN reads for the elevator and wrist, see AsyncInputSampler */
+        public static final double IO_SAMPLER_PERIOD_SECONDS = 0.01;
+        public static final int IO_SAMPLER_PRIORITY = 0;
+        /* real-time, so odometry samples stay evenly spaced while the main loop is busy */
+        public static final int ODOMETRY_PRIORITY = 15;
     }
 
     public static final class DriverControls {
@@ -0,0 +1,8 @@
+package frc.robot;
+
+/** Layers of the LED strip, each drawn over the ones before it */
+public enum LEDLayer {
+    GAME_PIECE,
+    ALIGNMENT,
+    BROWNOUT
+}
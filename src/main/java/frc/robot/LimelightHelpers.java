@@ -12,6 +12,9 @@ import edu.wpi.first.math.geometry.Translation3d;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.math.geometry.Rotation3d;
 import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.lib.log.ConsoleLog;
+import frc.robot.lib.vision.LimelightFrame;
+import frc.robot.lib.vision.LimelightJsonParser;
 
 import java.io.IOException;
 import java.net.HttpURLConnection;
@@ -369,12 +372,19 @@ public class LimelightHelpers {
     }
 
     private static ObjectMapper mapper;
+    // getLatestFrame is only called from the robot loop
+    private static final LimelightJsonParser frameParser = new LimelightJsonParser();
 
     /**
      * Print JSON Parse time to the console in milliseconds
      */
     static boolean profileJSON = false;
 
+    private static final ConsoleLog.Site poseLog = ConsoleLog.site("Limelight", ConsoleLog.Level.WARN, 1.0);
+    private static final ConsoleLog.Site requestLog = ConsoleLog.site("Limelight", ConsoleLog.Level.WARN, 1.0);
+    private static final ConsoleLog.Site jsonErrorLog = ConsoleLog.site("Limelight", ConsoleLog.Level.WARN, 1.0);
+    private static final ConsoleLog.Site jsonProfileLog = ConsoleLog.site("lljson", ConsoleLog.Level.DEBUG, 1.0);
+
     static final String sanitizeName(String name) {
         if (name == "" || name == null) {
             return "limelight";
@@ -385,7 +395,7 @@ public class LimelightHelpers {
     private static Pose3d toPose3D(double[] inData){
         if(inData.length < 6)
         {
-            System.err.println("Bad LL 3D Pose Data!");
+            poseLog.log("Bad LL 3D Pose Data!");
             return new Pose3d();
         }
         return new Pose3d(
@@ -397,7 +407,7 @@ public class LimelightHelpers {
     public static Pose2d toPose2D(double[] inData){
         if(inData.length < 6)
         {
-            System.err.println("Bad LL 2D Pose Data!");
+            poseLog.log("Bad LL 2D Pose Data!");
             return new Pose2d();
         }
         Translation2d tran2d = new Translation2d(inData[0], inData[1]);
@@ -440,7 +450,7 @@ public class LimelightHelpers {
             url = new URL(urlString);
             return url;
         } catch (MalformedURLException e) {
-            System.err.println("bad LL URL");
+            requestLog.log("bad LL URL");
         }
         return null;
     }
@@ -743,10 +753,10 @@ public class LimelightHelpers {
             if (responseCode == 200) {
                 return true;
             } else {
-                System.err.println("Bad LL Request");
+                requestLog.log("Bad LL Request");
             }
         } catch (IOException e) {
-            System.err.println(e.getMessage());
+            requestLog.log("%s", e.getMessage());
         }
         return false;
     }
@@ -765,16 +775,37 @@ public class LimelightHelpers {
         try {
             results = mapper.readValue(getJSONDump(limelightName), LimelightResults.class);
         } catch (JsonProcessingException e) {
-            System.err.println("lljson error: " + e.getMessage());
+            jsonErrorLog.log("lljson error: %s", e.getMessage());
         }
 
         long end = System.nanoTime();
         double millis = (end - start) * .000001;
         results.targetingResults.latency_jsonParse = millis;
-        if (profileJSON) {
-            System.out.printf("lljson: %.2f\r\n", millis);
+        if (profileJSON && jsonProfileLog.isEnabled()) {
+            jsonProfileLog.log("%.2f ms", millis);
         }
 
         return results;
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses the fields the robot uses out of Limelight's JSON results dump into frame, without
+     * building a LimelightResults. frame.parsed is false if the dump was empty or malformed.
+     */
+    public static LimelightFrame getLatestFrame(String limelightName, LimelightFrame frame) {
+
+        long start = System.nanoTime();
+        if (!frameParser.parse(getJSONDump(limelightName), frame)) {
+            jsonErrorLog.log("lljson error: unreadable results");
+        }
+
+        long end = System.nanoTime();
+        double millis = (end - start) * .000001;
+        frame.latency_jsonParse = millis;
+        if (profileJSON && jsonProfileLog.isEnabled()) {
+            jsonProfileLog.log("%.2f ms", millis);
+        }
+
+        return frame;
+    }
+}
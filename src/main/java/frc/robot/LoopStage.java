@@ -0,0 +1,31 @@
+package frc.robot;
+
+/** Stages of Robot.robotPeriodic timed by the loop profiler, in the order they run */
+public enum LoopStage {
+    INPUTS("Inputs"),
+    DRIVETRAIN_STATE_MACHINE("DrivetrainStateMachine"),
+    INTAKE_STATE_MACHINE("IntakeStateMachine"),
+    ELEVATOR_STATE_MACHINE("ElevatorStateMachine"),
+    WRIST_STATE_MACHINE("WristStateMachine"),
+    SWERVE_UPDATE_POSES("SwerveUpdatePoses"),
+    VISION("Vision"),
+    AUTO("Auto"),
+    SWERVE_PERIODIC("SwervePeriodic"),
+    ELEVATOR_PERIODIC("ElevatorPeriodic"),
+    WRIST_PERIODIC("WristPeriodic"),
+    LED_STATE_MACHINE("LEDStateMachine"),
+    LED_PERIODIC("LEDPeriodic"),
+    DASHBOARD("Dashboard"),
+    SCHEDULER("Scheduler");
+
+    private final String logName;
+
+    LoopStage(String logName) {
+        this.logName = logName;
+    }
+
+    @Override
+    public String toString() {
+        return logName;
+    }
+}
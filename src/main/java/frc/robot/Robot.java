@@ -21,14 +21,14 @@ import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.wpilibj.Filesystem;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.XboxController;
-import edu.wpi.first.wpilibj.smartdashboard.FieldObject2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj.util.Color;
 import frc.robot.lib.auto.AutoModeBase;
 import frc.robot.lib.auto.AutoModeExecutor;
 import frc.robot.lib.auto.AutoModeSelector;
-import frc.robot.lib.interfaces.LED;
+import frc.robot.lib.auto.CrashTracker;
 import frc.robot.lib.interfaces.Swerve.Swerve;
+import frc.robot.lib.util.LoopProfiler;
 // import frc.robot.subsystems.arm.ArmStateMachine;
 import frc.robot.subsystems.drive.DrivetrainStateMachine;
 
@@ -50,6 +50,7 @@ public class Robot extends LoggedRobot{
    */
   @Override
   public void robotInit() {
+    CrashTracker.logRobotInit();
     Logger logger = Logger.getInstance();
 
     // Record metadata
@@ -125,29 +126,49 @@ public class Robot extends LoggedRobot{
    */
   @Override
   public void robotPeriodic() {
+    LoopProfiler<LoopStage> profiler = RobotMap.loopProfiler;
+    profiler.startLoop();
+
+    /* every controller read this loop comes from this snapshot */
+    RobotMap.inputs.capture();
+    Logger.getInstance().processInputs("Controllers", RobotMap.inputs);
+    RobotMap.inputs.updateEdges();
+    profiler.mark(LoopStage.INPUTS);
+
     /* state machines always execute current state and check for next state */
     RobotMap.drivetrainStateMachine.setNextState();
+    profiler.mark(LoopStage.DRIVETRAIN_STATE_MACHINE);
     RobotMap.intakeStateMachine.setNextState();
+    profiler.mark(LoopStage.INTAKE_STATE_MACHINE);
     RobotMap.elevatorStateMachine.setNextState();
+    profiler.mark(LoopStage.ELEVATOR_STATE_MACHINE);
     RobotMap.wristStateMachine.setNextState();
+    profiler.mark(LoopStage.WRIST_STATE_MACHINE);
     // RobotMap.armStateMachine.setNextState();
-    RobotMap.ledStateMachine.setNextState();
     // update swerve pose estimator
     RobotMap.swerve.updatePoses();
+    profiler.mark(LoopStage.SWERVE_UPDATE_POSES);
+    // auto actions update here, on the poses just updated, see AutoModeExecutor.step
+    if (autoModeExecutor != null) {
+      autoModeExecutor.step();
+    }
+    profiler.mark(LoopStage.AUTO);
     RobotMap.swerve.periodic();
+    profiler.mark(LoopStage.SWERVE_PERIODIC);
     RobotMap.elevator.periodic();
+    profiler.mark(LoopStage.ELEVATOR_PERIODIC);
     RobotMap.wrist.periodic();
-    if(RobotMap.driverController.getAButton()){
+    if(RobotMap.inputs.driver.getAButton()){
       RobotMap.elevator.resetEncoder();
       RobotMap.wrist.resetEncoder();
     }
-    LED.periodic();
+    profiler.mark(LoopStage.WRIST_PERIODIC);
+
+    // LEDs and the dashboard run at their own rates, see RobotMap.init
+    RobotMap.scheduler.run();
+    profiler.mark(LoopStage.SCHEDULER);
+    profiler.endLoop();
 
-    // see robot pose on Glass
-    // RobotMap.Field2d.setRobotPose(Swerve.swerveOdometry.getEstimatedPosition());
-    FieldObject2d currentPoseDisplay = RobotMap.Field2d.getObject("currentPose");
-    currentPoseDisplay.setPose(Swerve.swerveOdometry.getEstimatedPosition());
-    
     // SmartDashboard.putNumber("Integrated Encoder Shoulder (L)", RobotMap.leftShoulderMotor.getSelectedSensorPosition());
     // SmartDashboard.putNumber("Integrated Encoder Elbow (L)", RobotMap.leftElbowMotor.getSelectedSensorPosition());
     // SmartDashboard.putNumber("Integrated Encoder Shoulder (R)", RobotMap.rightShoulderMotor.getSelectedSensorPosition());
@@ -195,9 +216,13 @@ public class Robot extends LoggedRobot{
    */
   @Override
   public void autonomousInit() {
+    CrashTracker.logAutoInit();
     Optional<AutoModeBase> autoMode = autoModeSelector.getAutoMode();
     if (autoMode.isPresent()) {
       RobotMap.swerve.resetOdometry(autoMode.get().getStartingPose());
+      if (RobotMap.swerveSim != null) {
+        RobotMap.swerveSim.resetPose(autoMode.get().getStartingPose());
+      }
     }
 
 		autoModeExecutor.start();
@@ -211,6 +236,7 @@ public class Robot extends LoggedRobot{
   /** This function is called once when teleop is enabled. */
   @Override
   public void teleopInit() {
+    CrashTracker.logTeleopInit();
     RobotMap.drivetrainStateMachine.setCurrentState(DrivetrainStateMachine.teleopSwerve);
     // RobotMap.armStateMachine.setCurrentState(ArmStateMachine.idleState);
     
@@ -263,6 +289,7 @@ public class Robot extends LoggedRobot{
   /** This function is called once each time the robot enters Disabled mode. */
   @Override
   public void disabledInit() {
+    CrashTracker.logDisabledInit();
     
     // RobotMap.leftShoulderMotor.setNeutralMode(NeutralMode.Coast);
     // RobotMap.rightShoulderMotor.setNeutralMode(NeutralMode.Coast);
@@ -303,5 +330,9 @@ public class Robot extends LoggedRobot{
 
   /** This function is called periodically whilst in simulation. */
   @Override
-  public void simulationPeriodic() {}
+  public void simulationPeriodic() {
+    if (RobotMap.swerveSim != null) {
+      RobotMap.swerveSim.update();
+    }
+  }
 }
@@ -8,19 +8,39 @@ import com.ctre.phoenix.sensors.WPI_Pigeon2;
 import edu.wpi.first.networktables.NetworkTableInstance.NetworkMode;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.XboxController;
+import frc.robot.lib.can.CANBudgetManager;
 import frc.robot.lib.interfaces.LED;
 import frc.robot.lib.interfaces.Elevator.Elevator;
 import frc.robot.lib.interfaces.Elevator.ElevatorFalcon500;
 import frc.robot.lib.interfaces.Elevator.ElevatorIO;
+import frc.robot.lib.interfaces.Elevator.ElevatorIOAsync;
 import frc.robot.lib.interfaces.Intake.Intake;
 import frc.robot.lib.interfaces.Intake.IntakeFalcon500;
+import frc.robot.lib.interfaces.Intake.IntakeIO;
 import frc.robot.lib.interfaces.Swerve.GyroIO;
 import frc.robot.lib.interfaces.Swerve.GyroPigeon2;
+import frc.robot.lib.interfaces.Swerve.OdometryIOPhoenix;
 import frc.robot.lib.interfaces.Swerve.Swerve;
+import frc.robot.lib.interfaces.Swerve.SwerveDriveSim;
 import frc.robot.lib.interfaces.Swerve.SwerveModuleFalcon500;
 import frc.robot.lib.interfaces.Swerve.SwerveModuleIO;
+import frc.robot.lib.interfaces.Swerve.SwerveModuleIOSim;
+import frc.robot.lib.interfaces.Vision.Vision;
+import frc.robot.lib.interfaces.Vision.VisionIO;
+import frc.robot.lib.interfaces.Vision.VisionIOPhoton;
+import frc.robot.lib.interfaces.Vision.VisionIOSim;
 import frc.robot.lib.interfaces.Wrist.Wrist;
 import frc.robot.lib.interfaces.Wrist.WristFalcon500;
+import frc.robot.lib.interfaces.Wrist.WristIO;
+import frc.robot.lib.interfaces.Wrist.WristIOAsync;
+import frc.robot.lib.log.ConsoleLog;
+import frc.robot.lib.scheduling.AsyncInputSampler;
+import frc.robot.lib.scheduling.LoopScheduler;
+import frc.robot.lib.statemachine.StateMachine;
+import frc.robot.lib.util.InputSnapshot;
+import frc.robot.lib.util.LoopProfiler;
+import frc.robot.lib.util.WriteOnChange;
+import frc.robot.lib.vision.VisionPipeline;
 import frc.robot.subsystems.Elevator.ElevatorStateMachine;
 import frc.robot.subsystems.LED.LEDStateMachine;
 import frc.robot.subsystems.Wrist.WristStateMachine;
@@ -50,10 +70,22 @@ public class RobotMap {
     /* Smart Dashboard Instances */
     public static Field2d Field2d;
 
+    /* Loop timing */
+    public static LoopProfiler<LoopStage> loopProfiler;
+    public static LoopScheduler scheduler;
+    public static AsyncInputSampler ioSampler;
+    public static CANBudgetManager canBudget;
+
+    /* Vision */
+    public static VisionPipeline vision;
+    public static Vision photonVision;
+
     /* Interface instances */
     public static Elevator elevator;
     public static Wrist wrist;
     public static Swerve swerve; 
+    // SIM only, where the simulated robot really is
+    public static SwerveDriveSim swerveSim;
     // public static Arm arm;
     public static LED led;
     public static Intake intake;
@@ -61,8 +93,16 @@ public class RobotMap {
     /* Xbox controllers */
     public static XboxController manipulatorController;
     public static XboxController driverController;
+    // read once at the top of robotPeriodic, use this rather than the controllers above
+    public static InputSnapshot inputs;
 
     public static void init() {
+        init(Constants.currentMode);
+    }
+
+    /** Builds everything for the given mode, SIM and REPLAY get IO stubs for every subsystem */
+    public static void init(Constants.Mode mode) {
+        ConsoleLog.setLevel(Constants.CONSOLE_LOG.LEVEL);
         
        // gyro = new WPI_Pigeon2(Constants.CAN_IDS.PIDGEON, "Swerve");
 
@@ -79,27 +119,64 @@ public class RobotMap {
         // rightElbowMotor.configFactoryDefault();
         // intakeMotor.configFactoryDefault();
         
-        switch(Constants.currentMode){
+        scheduler = new LoopScheduler(
+            Constants.SCHEDULER.LOOP_PERIOD_SECONDS,
+            Constants.SCHEDULER.TASK_BUDGET_SECONDS,
+            Constants.SCHEDULER.REPORT_PERIOD);
+        // IO classes declare the CAN signals they read as they're built
+        canBudget = new CANBudgetManager();
+
+        switch(mode){
             case REAL:
+                // elevator and wrist inputs are read on the sampler thread. Nothing reads the
+                // intake's inputs while intake.periodic is off, so it isn't sampled
+                ioSampler = new AsyncInputSampler();
                 intake = new Intake(new IntakeFalcon500(Constants.INTAKE.INTAKE_MOTOR));
-                swerve = new Swerve(
-                    new GyroPigeon2(Constants.CAN_IDS.PIDGEON),
-                    new SwerveModuleFalcon500(Constants.SWERVE.Mod0.constants),
-                    new SwerveModuleFalcon500(Constants.SWERVE.Mod1.constants),
-                    new SwerveModuleFalcon500(Constants.SWERVE.Mod2.constants),
-                    new SwerveModuleFalcon500(Constants.SWERVE.Mod3.constants));
+                // the odometry thread reads the same devices as the swerve IO
+                GyroPigeon2 pigeon = new GyroPigeon2(Constants.CAN_IDS.PIDGEON);
+                SwerveModuleFalcon500 flModule = new SwerveModuleFalcon500(Constants.SWERVE.Mod0.constants);
+                SwerveModuleFalcon500 frModule = new SwerveModuleFalcon500(Constants.SWERVE.Mod1.constants);
+                SwerveModuleFalcon500 blModule = new SwerveModuleFalcon500(Constants.SWERVE.Mod2.constants);
+                SwerveModuleFalcon500 brModule = new SwerveModuleFalcon500(Constants.SWERVE.Mod3.constants);
+                OdometryIOPhoenix odometry = new OdometryIOPhoenix(pigeon, flModule, frModule, blModule, brModule);
+                swerve = new Swerve(pigeon, odometry, flModule, frModule, blModule, brModule);
 
                 elevator = new Elevator(
-                    new ElevatorFalcon500(Constants.Elevator.elevatorFirstStageMotorID),
-                    new ElevatorFalcon500(Constants.Elevator.elevatorSecondStageMotorID)
+                    new ElevatorIOAsync("ElevatorFirstStage", new ElevatorFalcon500(Constants.Elevator.elevatorFirstStageMotorID), ioSampler),
+                    new ElevatorIOAsync("ElevatorSecondStage", new ElevatorFalcon500(Constants.Elevator.elevatorSecondStageMotorID), ioSampler)
                 );
 
                 wrist = new Wrist(
-                    new WristFalcon500(Constants.Wrist.wristMotorID)
+                    new WristIOAsync("Wrist", new WristFalcon500(Constants.Wrist.wristMotorID), ioSampler)
                 );
 
+                ioSampler.start(scheduler, Constants.SCHEDULER.IO_SAMPLER_PERIOD_SECONDS, Constants.SCHEDULER.IO_SAMPLER_PRIORITY);
+                odometry.start(scheduler);
+
+                canBudget.apply();
+                scheduler.addLoopTask("CANBudget", Constants.CAN.REPORT_PERIOD_SECONDS, Constants.CAN.REPORT_PRIORITY, canBudget::periodic);
+
+                break;
+            case SIM:
+                intake = new Intake(new IntakeIO(){});
+
+                elevator = new Elevator(
+                    new ElevatorIO(){}, 
+                    new ElevatorIO(){});
+
+                // the modules only remember what they're told, swerveSim drives the robot with it
+                SwerveModuleIOSim flSim = new SwerveModuleIOSim();
+                SwerveModuleIOSim frSim = new SwerveModuleIOSim();
+                SwerveModuleIOSim blSim = new SwerveModuleIOSim();
+                SwerveModuleIOSim brSim = new SwerveModuleIOSim();
+                swerve = new Swerve(new GyroIO(){}, flSim, frSim, blSim, brSim);
+                swerveSim = new SwerveDriveSim(flSim, frSim, blSim, brSim);
+
+                wrist = new Wrist(new WristIO(){});
                 break;
             case REPLAY:
+                intake = new Intake(new IntakeIO(){});
+
                 elevator = new Elevator(
                     new ElevatorIO(){}, 
                     new ElevatorIO(){});
@@ -110,17 +187,22 @@ public class RobotMap {
                     new SwerveModuleIO(){},
                     new SwerveModuleIO(){},
                     new SwerveModuleIO(){});
-                    break;
+
+                wrist = new Wrist(new WristIO(){});
+                break;
             default:
                 break;
     
-    }        /* By pausing init for a second before setting module offsets, we avoid a bug with inverting motors.
+    }
+        photonVision = buildPhotonVision(mode);
+        /* By pausing init for a second before setting module offsets, we avoid a bug with inverting motors.
         * See https://github.com/Team364/BaseFalconSwerve/issues/8 for more info. */
         Timer.delay(1.0);
 
 
         manipulatorController = new XboxController(1);
         driverController = new XboxController(0);
+        inputs = new InputSnapshot(driverController.getPort(), manipulatorController.getPort());
 
         swerve.periodic();
         // elevator.periodic();
@@ -135,6 +217,15 @@ public class RobotMap {
         
         // arm = new Arm();
         Field2d = new Field2d();
+        vision = new VisionPipeline(Constants.LIMELIGHT.NAMES, Constants.LIMELIGHT.FRAME_QUEUE_CAPACITY);
+        vision.setPoseHistory(swerve.poseHistory);
+        photonVision.setPoseHistory(swerve.poseHistory);
+        loopProfiler = new LoopProfiler<>(
+            LoopStage.values(),
+            Constants.PROFILER.WINDOW_SIZE,
+            Constants.PROFILER.REPORT_PERIOD,
+            Constants.PROFILER.LOOP_BUDGET_SECONDS,
+            Constants.PROFILER.ENABLED);
         led = new LED();
 
         ledStateMachine = new LEDStateMachine();
@@ -143,6 +234,47 @@ public class RobotMap {
         wristStateMachine = new WristStateMachine();
         // armStateMachine = new ArmStateMachine();
         intakeStateMachine = new IntakeStateMachine();
+
+        // these only transition on controller inputs, so they're checked when an input changes
+        elevatorStateMachine.setEventSource(inputs);
+        wristStateMachine.setEventSource(inputs);
+        intakeStateMachine.setEventSource(inputs);
+
+        // everything else in robotPeriodic runs every loop, these don't need to
+        scheduler.addLoopTask("LED", Constants.SCHEDULER.LED_PERIOD_SECONDS, Constants.SCHEDULER.LED_PRIORITY, () -> {
+            ledStateMachine.setNextState();
+            loopProfiler.mark(LoopStage.LED_STATE_MACHINE);
+            LED.periodic();
+            loopProfiler.mark(LoopStage.LED_PERIODIC);
+        });
+        scheduler.addLoopTask("Dashboard", Constants.SCHEDULER.DASHBOARD_PERIOD_SECONDS, Constants.SCHEDULER.DASHBOARD_PRIORITY, () -> {
+            // see robot pose on Glass
+            Field2d.getObject("currentPose").setPose(swerve.getPose());
+            loopProfiler.mark(LoopStage.DASHBOARD);
+        });
+        scheduler.addLoopTask("OutputStats", Constants.OUTPUTS.REPORT_PERIOD_SECONDS, Constants.OUTPUTS.REPORT_PRIORITY, WriteOnChange::report);
+        scheduler.addLoopTask("VisionStats", Constants.LIMELIGHT.REPORT_PERIOD_SECONDS, Constants.LIMELIGHT.REPORT_PRIORITY, vision::report);
+        scheduler.addLoopTask("StateMachineStats", Constants.STATE_MACHINES.REPORT_PERIOD_SECONDS, Constants.STATE_MACHINES.REPORT_PRIORITY, StateMachine::report);
+    }
+
+    // SIM gets a simulated camera that sees from swerveSim's pose, REPLAY gets stubs for the real cameras
+    private static Vision buildPhotonVision(Constants.Mode mode) {
+        if (mode == Constants.Mode.SIM) {
+            return new Vision(
+                new String[] {Constants.PhotonConstants.SIM_CAMERA_NAME},
+                new VisionIO[] {new VisionIOSim(
+                    swerveSim::getPose,
+                    Constants.PhotonConstants.ROBOT_TO_CAM,
+                    Swerve.aprilTagFieldLayout)});
+        }
+        String[] names = Constants.PhotonConstants.CAMERA_NAMES;
+        VisionIO[] io = new VisionIO[names.length];
+        for (int i = 0; i < names.length; i++) {
+            io[i] = mode == Constants.Mode.REAL
+                ? new VisionIOPhoton(names[i], Constants.PhotonConstants.ROBOT_TO_CAM, Swerve.aprilTagFieldLayout)
+                : new VisionIO(){};
+        }
+        return new Vision(names, io);
     }
 }
 // initiate bomb sequence
\ No newline at end of file
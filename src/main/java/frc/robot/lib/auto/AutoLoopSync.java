@@ -0,0 +1,150 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.auto;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.littletonrobotics.junction.Logger;
+
+import frc.robot.lib.log.ConsoleLog;
+
+/**
+ * Paces the auto routine thread against the robot loop. Routines stay blocking code on their own
+ * thread, but in lockstep mode the thread waits for the main loop instead of sleeping: step,
+ * called from robotPeriodic right after the poses update, lets the thread run until its next
+ * awaitStep and waits for it to come back, so every update sees that loop's sensor data and the
+ * routine never runs while swerve.periodic does. The thread waits once before the routine starts,
+ * so code between actions runs inside a step too. An update that takes longer than the timeout is
+ * logged and step keeps holding the loop, but only until the rest of the period is used up. An
+ * update still running then is stuck or far too slow, so the routine drops out of lockstep for
+ * good and sleeps between updates from then on rather than stall robotPeriodic.
+ * Without lockstep the thread sleeps one period between updates like it always did, and does
+ * run alongside the loop.
+ *
+ * <p>Either way step logs how long after the loop's step each update started. In lockstep that's
+ * the thread's wake-up latency; sleeping, it drifts around the whole period.
+ */
+public class AutoLoopSync {
+    private static final ConsoleLog.Site log = ConsoleLog.site("AutoLoopSync", ConsoleLog.Level.WARN, 0.0);
+
+    private final boolean lockstep;
+    private final long periodMillis;
+    private final long periodNanos;
+    private final long timeoutNanos;
+
+    // main loop to auto thread: run one update; auto thread to main loop: update finished
+    private final Semaphore stepStart = new Semaphore(0);
+    private final Semaphore stepDone = new Semaphore(0);
+    private volatile boolean waiting = false;
+    private volatile boolean cancelled = false;
+    // set by the main loop when an update overruns the period, the thread sleeps from then on
+    private volatile boolean droppedOut = false;
+
+    private volatile long stepNanos = 0;
+    private volatile long updateNanos = Long.MIN_VALUE;
+    // main loop only
+    private long loggedUpdateNanos = Long.MIN_VALUE;
+    private long timeouts = 0;
+
+    public AutoLoopSync(boolean lockstep, double periodSeconds, double timeoutSeconds) {
+        this.lockstep = lockstep;
+        this.periodMillis = (long) (periodSeconds * 1000.0);
+        this.periodNanos = (long) (periodSeconds * 1.0e9);
+        this.timeoutNanos = (long) (timeoutSeconds * 1.0e9);
+    }
+
+    /** @return false without lockstep, or once an update overran and the routine dropped out */
+    public boolean isLockstep() {
+        return lockstep && !droppedOut;
+    }
+
+    /** Main loop side: once per loop while auto runs, where updates should see fresh data */
+    public void step() {
+        long previousStep = stepNanos;
+        long now = System.nanoTime();
+        stepNanos = now;
+        boolean timedOut = false;
+
+        // the thread only runs inside a step, so it isn't waiting only before it reaches its first
+        // awaitStep or after dropping out, and there's nothing to hold the loop for either way
+        if (isLockstep() && waiting && !cancelled) {
+            // the done signal the thread gave on its way into waiting
+            stepDone.drainPermits();
+            stepStart.release();
+            try {
+                if (!stepDone.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    timeouts++;
+                    timedOut = true;
+                    // keep holding the loop for the rest of the period, see the class comment
+                    long remaining = periodNanos - (System.nanoTime() - now);
+                    if (!stepDone.tryAcquire(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                        dropOut();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        Logger logger = Logger.getInstance();
+        long update = updateNanos;
+        if (update != loggedUpdateNanos && previousStep != 0 && update >= previousStep) {
+            loggedUpdateNanos = update;
+            // an update that ran between loops, without lockstep, is measured from the loop before
+            long reference = update >= now ? now : previousStep;
+            logger.recordOutput("Auto/PhaseOffsetMs", (update - reference) / 1.0e6);
+        }
+        logger.recordOutput("Auto/StepTimedOut", timedOut);
+        logger.recordOutput("Auto/StepTimeouts", timeouts);
+        logger.recordOutput("Auto/DroppedOutOfLockstep", droppedOut);
+    }
+
+    private void dropOut() {
+        droppedOut = true;
+        // the thread may already be back in awaitStep having checked droppedOut, let it go
+        stepStart.release();
+        log.log("auto update overran the %d ms loop, dropping out of lockstep", periodMillis);
+    }
+
+    /** Auto thread side: between updates, in place of sleeping a period */
+    public void awaitStep() {
+        if (!isLockstep()) {
+            try {
+                Thread.sleep(periodMillis);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+        stepDone.release();
+        waiting = true;
+        try {
+            if (!cancelled) {
+                stepStart.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting = false;
+        }
+    }
+
+    /** Auto thread side: right before each action update */
+    public void markUpdate() {
+        updateNanos = System.nanoTime();
+    }
+
+    /** Auto thread side: the routine is over, don't keep the main loop waiting on it */
+    public void endRoutine() {
+        stepDone.release();
+    }
+
+    /** Any thread: wakes the auto thread for good so it can see the mode stopped */
+    public void cancel() {
+        cancelled = true;
+        stepStart.release();
+    }
+}
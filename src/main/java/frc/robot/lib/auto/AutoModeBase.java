@@ -14,6 +14,7 @@ import frc.robot.RobotMap;
 import frc.robot.lib.auto.actions.Action;
 import frc.robot.lib.auto.actions.EmptyAction;
 import frc.robot.lib.interfaces.Swerve.Swerve;
+import frc.robot.lib.log.ConsoleLog;
 import frc.robot.subsystems.drive.autos.TopTwoPieceRed;
 
 /**
@@ -21,9 +22,14 @@ import frc.robot.subsystems.drive.autos.TopTwoPieceRed;
  * routines that do actions).
  */
 public abstract class AutoModeBase {
+    private static final ConsoleLog.Site log = ConsoleLog.site("AutoModeBase", ConsoleLog.Level.INFO, 0.0);
+
     protected final double mUpdateRate = 1.0 / 50.0;
-    protected boolean mActive = false;
-    protected boolean mIsInterrupted = false;
+    // set from the main loop, read by the routine thread
+    protected volatile boolean mActive = false;
+    protected volatile boolean mIsInterrupted = false;
+    // paces runAction against the robot loop, sleeps mUpdateRate when there isn't one
+    private volatile AutoLoopSync mLoopSync = new AutoLoopSync(false, mUpdateRate, 0.0);
 
     protected abstract void routine() throws AutoModeEndedException;
 
@@ -31,15 +37,25 @@ public abstract class AutoModeBase {
         mActive = true;
 
         try {
+            // in lockstep the routine only runs inside a step, including before its first action
+            if (mLoopSync.isLockstep()) {
+                mLoopSync.awaitStep();
+            }
             routine();
         } catch (AutoModeEndedException e) {
             DriverStation.reportError("AUTO MODE DONE!!!! ENDED EARLY!!!!", false);
             return;
+        } finally {
+            mLoopSync.endRoutine();
         }
 
         done();
     }
 
+    public void setLoopSync(AutoLoopSync loopSync) {
+        mLoopSync = loopSync;
+    }
+
     public void done() {
     //     if (
     //         // AutoModeSelector.mCachedDesiredMode.name() != "TOP_TWO_PIECE_RED" 
@@ -60,6 +76,7 @@ public abstract class AutoModeBase {
 
     public void stop() {
         mActive = false;
+        mLoopSync.cancel();
     }
 
     public boolean isActive() {
@@ -82,39 +99,32 @@ public abstract class AutoModeBase {
     }
 
     public void interrupt() {
-        System.out.println("** Auto mode interrrupted!");
+        log.log("** Auto mode interrupted!");
         mIsInterrupted = true;
     }
 
     public void resume() {
-        System.out.println("** Auto mode resumed!");
+        log.log("** Auto mode resumed!");
         mIsInterrupted = false;
     }
 
     public void runAction(Action action) throws AutoModeEndedException {
         isActiveWithThrow();
-        long waitTime = (long) (mUpdateRate * 1000.0);
+        AutoLoopSync loopSync = mLoopSync;
 
         // Wait for interrupt state to clear
         while (isActiveWithThrow() && mIsInterrupted) {
-            try {
-                Thread.sleep(waitTime);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+            loopSync.awaitStep();
         }
 
         action.start();
 
         // Run action, stop action on interrupt, non active mode, or done
         while (isActiveWithThrow() && !action.isFinished() && !mIsInterrupted) {
+            loopSync.markUpdate();
             action.update();
 
-            try {
-                Thread.sleep(waitTime);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+            loopSync.awaitStep();
         }
 
         action.done();
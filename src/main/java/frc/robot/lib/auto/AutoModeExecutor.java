@@ -4,14 +4,21 @@
 
 package frc.robot.lib.auto;
 
+import frc.robot.Constants;
+
 /**
- * This class selects, runs, and (if necessary) stops a specified autonomous mode.
+ * This class selects, runs, and (if necessary) stops a specified autonomous mode. The mode runs
+ * on its own thread, paced against the robot loop by an AutoLoopSync, see step.
  */
 public class AutoModeExecutor {
     private static AutoModeExecutor mInstance = null;
 
     private AutoModeBase mAutoMode = null;
     private Thread mThread = null;
+    private final AutoLoopSync mLoopSync = new AutoLoopSync(
+        Constants.AUTO_EXECUTOR.LOCKSTEP,
+        Constants.AUTO_EXECUTOR.PERIOD_SECONDS,
+        Constants.AUTO_EXECUTOR.STEP_TIMEOUT_SECONDS);
 
     public AutoModeExecutor() {}
 
@@ -25,6 +32,9 @@ public class AutoModeExecutor {
 
     public void setAutoMode(AutoModeBase new_auto_mode) {
         mAutoMode = new_auto_mode;
+        if (mAutoMode != null) {
+            mAutoMode.setLoopSync(mLoopSync);
+        }
         mThread = new Thread(new CrashTrackingRunnable() {
             @Override
             public void runCrashTracked() {
@@ -41,6 +51,13 @@ public class AutoModeExecutor {
         }
     }
 
+    /** Call once per robot loop, right after the poses update, to let the mode run an update */
+    public void step() {
+        if (isStarted()) {
+            mLoopSync.step();
+        }
+    }
+
     public boolean isStarted() {
         return mAutoMode != null && mAutoMode.isActive() && mThread != null && mThread.isAlive();
     }
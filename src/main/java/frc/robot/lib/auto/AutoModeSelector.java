@@ -8,6 +8,7 @@ import java.util.Optional;
 
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.lib.log.ConsoleLog;
 // import frc.robot.subsystems.drive.autos.BotSideLink;
 // import frc.robot.subsystems.drive.autos.BotSideLoadingStation;
 import frc.robot.subsystems.drive.autos.BotSimpleScoreCone;
@@ -19,6 +20,9 @@ import frc.robot.subsystems.drive.autos.DoNothing;
 // import frc.robot.subsystems.drive.autos.TopSimpleScore;
 
 public class AutoModeSelector {
+    private static final ConsoleLog.Site log = ConsoleLog.site("AutoModeSelector", ConsoleLog.Level.INFO, 0.0);
+    private static final ConsoleLog.Site errorLog = ConsoleLog.site("AutoModeSelector", ConsoleLog.Level.ERROR, 0.0);
+
     enum DesiredMode {
         DO_NOTHING, 
         TEST_PATH,
@@ -58,7 +62,7 @@ public class AutoModeSelector {
             desiredMode = DesiredMode.DO_NOTHING;
         }
         if (mCachedDesiredMode != desiredMode) {
-            System.out.println("Auto selection changed, updating creator: desiredMode->" + desiredMode.name());
+            log.log("Auto selection changed, updating creator: desiredMode->%s", desiredMode);
             mAutoMode = getAutoModeForParams(desiredMode);
         }
         mCachedDesiredMode = desiredMode;
@@ -97,11 +101,11 @@ public class AutoModeSelector {
         //     return Optional.of(new TopSideLink());
             
         default:
-            System.out.println("ERROR: unexpected auto mode: " + mode);
+            errorLog.log("unexpected auto mode: %s", mode);
             break;
         }
 
-        System.err.println("No valid auto mode found for  " + mode);
+        errorLog.log("No valid auto mode found for %s", mode);
         return Optional.empty();
     }
 
@@ -1,17 +1,31 @@
 package frc.robot.lib.auto;
 
-import java.io.FileWriter;
-import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.Date;
-import java.util.UUID;
+import java.io.StringWriter;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants;
+import frc.robot.lib.journal.Journal;
 
 /**
- * Tracks start-up and caught crash events, logging them to a file which dosn't roll over
+ * Tracks start-up and caught crash events in a binary journal. Markers are buffered and written
+ * by a background thread, crashes bypass the buffer and are written and synced before returning.
+ * Previous runs are kept as rotated files, decode them with JournalReader.
  */
 public class CrashTracker {
 
-    private static final UUID RUN_INSTANCE_UUID = UUID.randomUUID();
+    private static final Journal journal = new Journal(
+        Journal.pickDirectory(Constants.JOURNAL.ROBOT_DIRECTORY, Constants.JOURNAL.SIM_DIRECTORY),
+        Constants.JOURNAL.NAME,
+        Constants.JOURNAL.BUFFER_BYTES,
+        Constants.JOURNAL.MAX_FILE_BYTES,
+        Constants.JOURNAL.MAX_FILES,
+        Constants.JOURNAL.MAX_TEXT_BYTES,
+        Constants.JOURNAL.FLUSH_PERIOD_SECONDS);
+
+    static {
+        journal.start();
+    }
 
     public static void logRobotStartup() {
         logMarker("robot startup");
@@ -38,30 +52,21 @@ public class CrashTracker {
     }
 
     public static void logThrowableCrash(Throwable throwable) {
-        logMarker("Exception", throwable);
+        StringWriter trace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(trace));
+        // the thread is about to die and may take the process with it, so this one skips the ring
+        // and goes to disk now, even if markers filled the ring
+        if (!journal.appendSync(Journal.TYPE_CRASH, "Exception, " + trace)) {
+            DriverStation.reportError("Crash journal write failed (" + journal.getDropped()
+                + " records dropped), crash was:\n" + trace, false);
+        }
     }
 
-    private static void logMarker(String mark) {
-        logMarker(mark, null);
+    public static void logMarker(String mark) {
+        journal.append(Journal.TYPE_MARKER, mark);
     }
 
-    private static void logMarker(String mark, Throwable nullableException) {
-
-        try (PrintWriter writer = new PrintWriter(new FileWriter("/home/lvuser/crash_tracking.txt", true))) {
-            writer.print(RUN_INSTANCE_UUID.toString());
-            writer.print(", ");
-            writer.print(mark);
-            writer.print(", ");
-            writer.print(new Date().toString());
-
-            if (nullableException != null) {
-                writer.print(", ");
-                nullableException.printStackTrace(writer);
-            }
-
-            writer.println();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    public static Journal getJournal() {
+        return journal;
     }
 }
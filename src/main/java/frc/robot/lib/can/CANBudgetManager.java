@@ -0,0 +1,168 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.can;
+
+import java.util.ArrayList;
+
+import org.littletonrobotics.junction.Logger;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.motorcontrol.can.TalonFX;
+import com.ctre.phoenix.sensors.CANCoder;
+import com.ctre.phoenix.sensors.CANCoderStatusFrame;
+import com.ctre.phoenix.sensors.Pigeon2;
+import com.ctre.phoenix.sensors.PigeonIMU_StatusFrame;
+
+import edu.wpi.first.hal.can.CANStatus;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.Constants;
+
+/**
+ * Sets Phoenix 5 status frame periods from what the IO classes say they read, instead of leaving
+ * every device at the stock periods. IO classes register their devices and consume signals in
+ * their constructors, RobotMap calls apply once everything is built, and periodic re-applies the
+ * plan to any device that reset (a reset puts the stock periods back).
+ *
+ * <p>Estimated utilization per bus counts the planned status frames plus Talon control frames.
+ * Measured utilization is only available for the roboRIO bus; Phoenix 5 has no API for CANivore
+ * bus statistics.
+ */
+public class CANBudgetManager {
+    private final ArrayList<CANDeviceBudget> devices = new ArrayList<>();
+    private final ArrayList<String> buses = new ArrayList<>();
+    private final ArrayList<String> followedDevices = new ArrayList<>();
+
+    private double[] estimatedUtilization = new double[0];
+    private double[] defaultUtilization = new double[0];
+    private double[] estimatedFramesPerSecond = new double[0];
+    private String[][] busLogKeys = new String[0][];
+
+    public CANDeviceBudget talonFX(String bus, String name, TalonFX talon) {
+        return register(new CANDeviceBudget(bus, name, talon.getDeviceID(), CANFrame.DeviceType.TALON_FX,
+            (frame, periodMs) -> talon.setStatusFramePeriod(
+                (StatusFrameEnhanced) frame.phoenixFrame, periodMs, Constants.CAN.CONFIG_TIMEOUT_MS),
+            talon::hasResetOccurred));
+    }
+
+    public CANDeviceBudget canCoder(String bus, String name, CANCoder canCoder) {
+        return register(new CANDeviceBudget(bus, name, canCoder.getDeviceID(), CANFrame.DeviceType.CANCODER,
+            (frame, periodMs) -> canCoder.setStatusFramePeriod(
+                (CANCoderStatusFrame) frame.phoenixFrame, periodMs, Constants.CAN.CONFIG_TIMEOUT_MS),
+            canCoder::hasResetOccurred));
+    }
+
+    public CANDeviceBudget pigeon2(String bus, String name, Pigeon2 pigeon) {
+        return register(new CANDeviceBudget(bus, name, pigeon.getDeviceID(), CANFrame.DeviceType.PIGEON2,
+            (frame, periodMs) -> pigeon.setStatusFramePeriod(
+                (PigeonIMU_StatusFrame) frame.phoenixFrame, periodMs, Constants.CAN.CONFIG_TIMEOUT_MS),
+            pigeon::hasResetOccurred));
+    }
+
+    /** Declares that a Talon on the bus is followed, so its general frame has to stay fast */
+    public void follow(String bus, int leaderId) {
+        followedDevices.add(bus + "/" + leaderId);
+    }
+
+    /** Plans every registered device, sets its frame periods and works out the bus estimates */
+    public void apply() {
+        for (CANDeviceBudget device : devices) {
+            device.followed = device.deviceType == CANFrame.DeviceType.TALON_FX
+                && followedDevices.contains(device.bus + "/" + device.deviceId);
+            device.plan();
+            setPeriods(device);
+        }
+        estimate();
+        // in the log from the start instead of only at the first periodic
+        logEstimates();
+    }
+
+    // call about once a second
+    public void periodic() {
+        for (CANDeviceBudget device : devices) {
+            if (device.resetOccurred.getAsBoolean()) {
+                DriverStation.reportWarning(device.name + " reset, re-applying its status frame periods", false);
+                setPeriods(device);
+            }
+        }
+
+        logEstimates();
+
+        Logger logger = Logger.getInstance();
+        CANStatus rioStatus = RobotController.getCANStatus();
+        logger.recordOutput("CAN/" + Constants.CAN.RIO_BUS + "/MeasuredUtilization", rioStatus.percentBusUtilization);
+        logger.recordOutput("CAN/" + Constants.CAN.RIO_BUS + "/BusOffCount", rioStatus.busOffCount);
+        logger.recordOutput("CAN/" + Constants.CAN.RIO_BUS + "/TxFullCount", rioStatus.txFullCount);
+        logger.recordOutput("CAN/" + Constants.CAN.RIO_BUS + "/ReceiveErrorCount", rioStatus.receiveErrorCount);
+        logger.recordOutput("CAN/" + Constants.CAN.RIO_BUS + "/TransmitErrorCount", rioStatus.transmitErrorCount);
+    }
+
+    private void logEstimates() {
+        Logger logger = Logger.getInstance();
+        for (int i = 0; i < buses.size(); i++) {
+            logger.recordOutput(busLogKeys[i][0], estimatedUtilization[i]);
+            logger.recordOutput(busLogKeys[i][1], defaultUtilization[i]);
+            logger.recordOutput(busLogKeys[i][2], estimatedFramesPerSecond[i]);
+        }
+    }
+
+    private CANDeviceBudget register(CANDeviceBudget device) {
+        devices.add(device);
+        if (!buses.contains(device.bus)) {
+            buses.add(device.bus);
+        }
+        return device;
+    }
+
+    private void setPeriods(CANDeviceBudget device) {
+        for (CANFrame frame : CANFrame.values()) {
+            if (frame.deviceType != device.deviceType) {
+                continue;
+            }
+            ErrorCode error = device.frameSetter.setPeriod(frame, device.plannedPeriodsMs[frame.ordinal()]);
+            if (error != ErrorCode.OK) {
+                DriverStation.reportWarning(
+                    "Failed to set " + frame + " period on " + device.name + ": " + error, false);
+            }
+        }
+    }
+
+    private void estimate() {
+        int busCount = buses.size();
+        estimatedUtilization = new double[busCount];
+        defaultUtilization = new double[busCount];
+        estimatedFramesPerSecond = new double[busCount];
+        busLogKeys = new String[busCount][];
+
+        for (int i = 0; i < busCount; i++) {
+            String prefix = "CAN/" + buses.get(i) + "/";
+            busLogKeys[i] = new String[] {
+                prefix + "EstimatedUtilization",
+                prefix + "EstimatedDefaultUtilization",
+                prefix + "EstimatedFramesPerSec"
+            };
+        }
+
+        double[] defaultFramesPerSecond = new double[busCount];
+        for (CANDeviceBudget device : devices) {
+            int bus = buses.indexOf(device.bus);
+            double controlFrames = device.deviceType == CANFrame.DeviceType.TALON_FX
+                ? Constants.CAN.TALON_CONTROL_FRAMES_PER_SECOND
+                : 0.0;
+            estimatedFramesPerSecond[bus] += device.plannedFramesPerSecond() + controlFrames;
+            defaultFramesPerSecond[bus] += device.defaultFramesPerSecond() + controlFrames;
+        }
+
+        for (int i = 0; i < busCount; i++) {
+            estimatedUtilization[i] = utilization(estimatedFramesPerSecond[i]);
+            defaultUtilization[i] = utilization(defaultFramesPerSecond[i]);
+        }
+    }
+
+    private static double utilization(double framesPerSecond) {
+        return framesPerSecond * Constants.CAN.BITS_PER_FRAME / Constants.CAN.BITRATE;
+    }
+}
@@ -0,0 +1,97 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.can;
+
+import java.util.function.BooleanSupplier;
+
+import com.ctre.phoenix.ErrorCode;
+
+import frc.robot.Constants;
+
+/**
+ * One device registered with the CANBudgetManager: the signals its IO class reads and how often.
+ * Consume calls chain, so an IO class can declare everything it reads right after configuring
+ * the device.
+ */
+public class CANDeviceBudget {
+    interface FrameSetter {
+        ErrorCode setPeriod(CANFrame frame, int periodMs);
+    }
+
+    final String bus;
+    final String name;
+    final int deviceId;
+    final CANFrame.DeviceType deviceType;
+    final FrameSetter frameSetter;
+    final BooleanSupplier resetOccurred;
+
+    // highest rate any signal in the frame is read at, by CANFrame ordinal
+    private final double[] frameRatesHz = new double[CANFrame.values().length];
+    // period each frame was last set to, by CANFrame ordinal
+    final int[] plannedPeriodsMs = new int[CANFrame.values().length];
+    boolean followed = false;
+
+    CANDeviceBudget(String bus, String name, int deviceId, CANFrame.DeviceType deviceType,
+            FrameSetter frameSetter, BooleanSupplier resetOccurred) {
+        this.bus = bus;
+        this.name = name;
+        this.deviceId = deviceId;
+        this.deviceType = deviceType;
+        this.frameSetter = frameSetter;
+        this.resetOccurred = resetOccurred;
+    }
+
+    /** Declares that the IO reads a signal at the given rate */
+    public CANDeviceBudget consume(CANSignal signal, double rateHz) {
+        if (signal.frame.deviceType != deviceType) {
+            throw new IllegalArgumentException(signal + " isn't a " + deviceType + " signal (" + name + ")");
+        }
+        int index = signal.frame.ordinal();
+        frameRatesHz[index] = Math.max(frameRatesHz[index], rateHz);
+        return this;
+    }
+
+    /** Works out every frame's period from what was consumed, unread frames get the slowest period */
+    void plan() {
+        for (CANFrame frame : CANFrame.values()) {
+            if (frame.deviceType != deviceType) {
+                continue;
+            }
+            double rateHz = frameRatesHz[frame.ordinal()];
+            int periodMs = rateHz > 0.0
+                ? (int) Math.round(1000.0 / rateHz)
+                : Constants.CAN.UNUSED_FRAME_PERIOD_MS;
+            if (frame == CANFrame.TALON_GENERAL && followed) {
+                // followers take their output from the leader's general frame
+                periodMs = Math.min(periodMs, Constants.CAN.FOLLOWED_GENERAL_PERIOD_MS);
+            }
+            plannedPeriodsMs[frame.ordinal()] = Math.max(
+                Constants.CAN.MIN_FRAME_PERIOD_MS,
+                Math.min(periodMs, Constants.CAN.UNUSED_FRAME_PERIOD_MS));
+        }
+    }
+
+    /** @return status frames per second this device sends with the planned periods */
+    double plannedFramesPerSecond() {
+        double framesPerSecond = 0.0;
+        for (CANFrame frame : CANFrame.values()) {
+            if (frame.deviceType == deviceType) {
+                framesPerSecond += 1000.0 / plannedPeriodsMs[frame.ordinal()];
+            }
+        }
+        return framesPerSecond;
+    }
+
+    /** @return status frames per second this device sends with the stock periods */
+    double defaultFramesPerSecond() {
+        double framesPerSecond = 0.0;
+        for (CANFrame frame : CANFrame.values()) {
+            if (frame.deviceType == deviceType) {
+                framesPerSecond += 1000.0 / frame.defaultPeriodMs;
+            }
+        }
+        return framesPerSecond;
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.can;
+
+import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
+import com.ctre.phoenix.sensors.CANCoderStatusFrame;
+import com.ctre.phoenix.sensors.PigeonIMU_StatusFrame;
+
+/**
+ * Status frames the budget manager plans, per device type, with the Phoenix 5 default period used
+ * for the bus estimate. Frames not listed here are left alone. The Pigeon's general and fusion
+ * frames carry status the library itself depends on, so they aren't listed.
+ */
+public enum CANFrame {
+    TALON_GENERAL(DeviceType.TALON_FX, StatusFrameEnhanced.Status_1_General, 10),
+    TALON_FEEDBACK0(DeviceType.TALON_FX, StatusFrameEnhanced.Status_2_Feedback0, 20),
+    TALON_QUADRATURE(DeviceType.TALON_FX, StatusFrameEnhanced.Status_3_Quadrature, 160),
+    TALON_AIN_TEMP_VBAT(DeviceType.TALON_FX, StatusFrameEnhanced.Status_4_AinTempVbat, 160),
+    TALON_PULSE_WIDTH(DeviceType.TALON_FX, StatusFrameEnhanced.Status_8_PulseWidth, 160),
+    TALON_TARGETS(DeviceType.TALON_FX, StatusFrameEnhanced.Status_10_Targets, 160),
+    TALON_FEEDBACK1(DeviceType.TALON_FX, StatusFrameEnhanced.Status_12_Feedback1, 160),
+    TALON_PIDF0(DeviceType.TALON_FX, StatusFrameEnhanced.Status_13_Base_PIDF0, 160),
+    TALON_PIDF1(DeviceType.TALON_FX, StatusFrameEnhanced.Status_14_Turn_PIDF1, 160),
+    TALON_CURRENT(DeviceType.TALON_FX, StatusFrameEnhanced.Status_Brushless_Current, 50),
+    TALON_FEEDBACK_INTEGRATED(DeviceType.TALON_FX, StatusFrameEnhanced.Status_21_FeedbackIntegrated, 160),
+
+    CANCODER_SENSOR_DATA(DeviceType.CANCODER, CANCoderStatusFrame.SensorData, 10),
+    CANCODER_VBAT_FAULTS(DeviceType.CANCODER, CANCoderStatusFrame.VbatAndFaults, 100),
+
+    PIGEON_YPR(DeviceType.PIGEON2, PigeonIMU_StatusFrame.CondStatus_9_SixDeg_YPR, 10),
+    PIGEON_QUATERNION(DeviceType.PIGEON2, PigeonIMU_StatusFrame.CondStatus_10_SixDeg_Quat, 100),
+    PIGEON_GYRO_ACCUM(DeviceType.PIGEON2, PigeonIMU_StatusFrame.CondStatus_11_GyroAccum, 20),
+    PIGEON_ACCEL(DeviceType.PIGEON2, PigeonIMU_StatusFrame.CondStatus_3_GeneralAccel, 100),
+    PIGEON_BIASED_GYRO(DeviceType.PIGEON2, PigeonIMU_StatusFrame.BiasedStatus_2_Gyro, 100),
+    PIGEON_BIASED_MAG(DeviceType.PIGEON2, PigeonIMU_StatusFrame.BiasedStatus_4_Mag, 100),
+    PIGEON_BIASED_ACCEL(DeviceType.PIGEON2, PigeonIMU_StatusFrame.BiasedStatus_6_Accel, 100),
+    PIGEON_RAW_MAG(DeviceType.PIGEON2, PigeonIMU_StatusFrame.RawStatus_4_Mag, 100);
+
+    public enum DeviceType {
+        TALON_FX,
+        CANCODER,
+        PIGEON2
+    }
+
+    public final DeviceType deviceType;
+    public final Enum<?> phoenixFrame;
+    public final int defaultPeriodMs;
+
+    CANFrame(DeviceType deviceType, Enum<?> phoenixFrame, int defaultPeriodMs) {
+        this.deviceType = deviceType;
+        this.phoenixFrame = phoenixFrame;
+        this.defaultPeriodMs = defaultPeriodMs;
+    }
+}
@@ -0,0 +1,31 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.can;
+
+/** Values IO classes read from Phoenix 5 devices, and the status frame each one arrives in */
+public enum CANSignal {
+    /* TalonFX getMotorOutputPercent */
+    TALON_OUTPUT_PERCENT(CANFrame.TALON_GENERAL),
+    /* TalonFX getSelectedSensorPosition */
+    TALON_SENSOR_POSITION(CANFrame.TALON_FEEDBACK0),
+    /* TalonFX getSelectedSensorVelocity */
+    TALON_SENSOR_VELOCITY(CANFrame.TALON_FEEDBACK0),
+    /* TalonFX getBusVoltage */
+    TALON_BUS_VOLTAGE(CANFrame.TALON_AIN_TEMP_VBAT),
+    /* TalonFX getTemperature */
+    TALON_TEMPERATURE(CANFrame.TALON_AIN_TEMP_VBAT),
+    /* TalonFX getStatorCurrent and getSupplyCurrent */
+    TALON_CURRENT(CANFrame.TALON_CURRENT),
+    /* CANCoder getAbsolutePosition and getPosition */
+    CANCODER_POSITION(CANFrame.CANCODER_SENSOR_DATA),
+    /* Pigeon2 getYaw, getPitch and getRoll */
+    PIGEON_YAW_PITCH_ROLL(CANFrame.PIGEON_YPR);
+
+    public final CANFrame frame;
+
+    CANSignal(CANFrame frame) {
+        this.frame = frame;
+    }
+}
@@ -11,13 +11,18 @@ import com.ctre.phoenix.motorcontrol.TalonFXControlMode;
 import com.ctre.phoenix.motorcontrol.can.TalonFX;
 
 import frc.robot.Constants;
+import frc.robot.RobotMap;
+import frc.robot.lib.can.CANSignal;
+import frc.robot.lib.util.WriteOnChange;
 
 /** Add your docs here. */
 public class ElevatorFalcon500 implements ElevatorIO {
     public TalonFX elevatorMotor;
+    private final WriteOnChange output;
 
     public ElevatorFalcon500(int elevatorMotorID){
         elevatorMotor = new TalonFX(elevatorMotorID);
+        output = new WriteOnChange("Elevator " + elevatorMotorID, Constants.OUTPUTS.MOTOR_KEEP_ALIVE_SECONDS);
         elevatorMotor.configFactoryDefault();
 
         elevatorMotor.config_kP(0, Constants.Elevator.kP);
@@ -28,16 +33,24 @@ public class ElevatorFalcon500 implements ElevatorIO {
 
         elevatorMotor.setInverted(true);
 
+        RobotMap.canBudget.talonFX(Constants.CAN.RIO_BUS, "Elevator " + elevatorMotorID, elevatorMotor)
+            .consume(CANSignal.TALON_SENSOR_POSITION, Constants.CAN.CONTROL_RATE_HZ)
+            .consume(CANSignal.TALON_SENSOR_VELOCITY, Constants.CAN.CONTROL_RATE_HZ)
+            .consume(CANSignal.TALON_OUTPUT_PERCENT, Constants.CAN.TELEMETRY_RATE_HZ);
     }
     public void setNeutralMode(NeutralMode mode){
         elevatorMotor.setNeutralMode(mode);
     }
 
     public void setMotorPercentOutput(double output){
-        elevatorMotor.set(TalonFXControlMode.PercentOutput, output);
+        if (this.output.shouldWrite(ControlMode.PercentOutput.value, output, Constants.OUTPUTS.PERCENT_TOLERANCE)) {
+            elevatorMotor.set(TalonFXControlMode.PercentOutput, output);
+        }
     }
     public void setMotorPositionOutput(double position){
-        elevatorMotor.set(TalonFXControlMode.Position, position);
+        if (output.shouldWrite(ControlMode.Position.value, position, Constants.OUTPUTS.POSITION_TOLERANCE_TICKS)) {
+            elevatorMotor.set(TalonFXControlMode.Position, position);
+        }
     }
 
     public void resetEncoder(){
@@ -45,7 +58,16 @@ public class ElevatorFalcon500 implements ElevatorIO {
     }
 
     public void set(ControlMode mode, double outputValue) {
-        elevatorMotor.set(mode, outputValue);
+        if (mode == ControlMode.Follower) {
+            RobotMap.canBudget.follow(Constants.CAN.RIO_BUS, (int) outputValue);
+        }
+        // only percent and position have a tolerance, anything else has to match exactly
+        double tolerance = mode == ControlMode.PercentOutput ? Constants.OUTPUTS.PERCENT_TOLERANCE
+            : mode == ControlMode.Position ? Constants.OUTPUTS.POSITION_TOLERANCE_TICKS
+            : 0.0;
+        if (output.shouldWrite(mode.value, outputValue, tolerance)) {
+            elevatorMotor.set(mode, outputValue);
+        }
     }
     
 
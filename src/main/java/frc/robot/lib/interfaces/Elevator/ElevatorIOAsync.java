@@ -0,0 +1,63 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Elevator;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+
+import frc.robot.lib.scheduling.AsyncInputSampler;
+import frc.robot.lib.util.InputBuffer;
+
+/**
+ * Wraps an ElevatorIO so its inputs are read on the sampler thread. updateInputs only copies the
+ * latest sample into the logged inputs, outputs go straight through to the wrapped IO.
+ */
+public class ElevatorIOAsync implements ElevatorIO {
+    private final ElevatorIO io;
+    private final InputBuffer<ElevatorIOInputs> buffer;
+
+    /** @param name identifies this IO's sample age in the log */
+    public ElevatorIOAsync(String name, ElevatorIO io, AsyncInputSampler sampler) {
+        this.io = io;
+        buffer = new InputBuffer<>(name, ElevatorIOInputs::new);
+        sampler.register(this::sample);
+    }
+
+    private void sample() {
+        io.updateInputs(buffer.back());
+        buffer.publish();
+    }
+
+    public void updateInputs(ElevatorIOInputs inputs) {
+        ElevatorIOInputs latest = buffer.latest();
+        inputs.elevatorSensorPosition = latest.elevatorSensorPosition;
+        inputs.elevatorSensorvelocity = latest.elevatorSensorvelocity;
+        inputs.elevetorPercentOutput = latest.elevetorPercentOutput;
+    }
+
+    public void setNeutralMode(NeutralMode mode) {
+        io.setNeutralMode(mode);
+    }
+
+    public void setMotorPositionOutput(double position) {
+        io.setMotorPositionOutput(position);
+    }
+
+    public void resetEncoder() {
+        io.resetEncoder();
+    }
+
+    public void setMotorPercentOutput(double output) {
+        io.setMotorPercentOutput(output);
+    }
+
+    public void setInverted(boolean invert) {
+        io.setInverted(invert);
+    }
+
+    public void set(ControlMode mode, double outputValue) {
+        io.set(mode, outputValue);
+    }
+}
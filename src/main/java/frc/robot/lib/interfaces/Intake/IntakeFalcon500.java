@@ -1,18 +1,29 @@
 package frc.robot.lib.interfaces.Intake;
 
+import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.TalonFXControlMode;
 import com.ctre.phoenix.motorcontrol.can.TalonFX;
 
+import frc.robot.Constants;
+import frc.robot.RobotMap;
+import frc.robot.lib.util.WriteOnChange;
+
 public class IntakeFalcon500 implements IntakeIO{
     TalonFX IntakeMotor;
+    private final WriteOnChange output;
     public IntakeFalcon500(int intakeMotor2){
         IntakeMotor = new TalonFX(intakeMotor2);
+        output = new WriteOnChange("Intake " + intakeMotor2, Constants.OUTPUTS.MOTOR_KEEP_ALIVE_SECONDS);
         
         IntakeMotor.configPeakOutputForward(1.0);
         IntakeMotor.configPeakOutputReverse(-1.0);
         IntakeMotor.setInverted(true);
         IntakeMotor.setNeutralMode(NeutralMode.Brake);
+
+        // nothing reads the intake's inputs while intake.periodic is off, so every status frame
+        // goes to the unused period. Consume the signals here once something does
+        RobotMap.canBudget.talonFX(Constants.CAN.RIO_BUS, "Intake " + intakeMotor2, IntakeMotor);
     }
     public void updateInputs(IntakeIOInputs inputs){
         inputs.IntakePosition = IntakeMotor.getSelectedSensorPosition();
@@ -21,9 +32,13 @@ public class IntakeFalcon500 implements IntakeIO{
         inputs.IntakeCurrent = IntakeMotor.getStatorCurrent();
     }
     public void setPercentOutput(double output) {
-        IntakeMotor.set(TalonFXControlMode.PercentOutput, output);
+        if (this.output.shouldWrite(ControlMode.PercentOutput.value, output, Constants.OUTPUTS.PERCENT_TOLERANCE)) {
+            IntakeMotor.set(TalonFXControlMode.PercentOutput, output);
+        }
     }
     public void setPositionOutput(double position){
-        IntakeMotor.set(TalonFXControlMode.Position, position);
+        if (output.shouldWrite(ControlMode.Position.value, position, Constants.OUTPUTS.POSITION_TOLERANCE_TICKS)) {
+            IntakeMotor.set(TalonFXControlMode.Position, position);
+        }
     }
 }
@@ -1,21 +1,44 @@
 package frc.robot.lib.interfaces;
 
 import frc.robot.Constants;
+import frc.robot.LEDLayer;
 import frc.robot.RobotMap;
+import frc.robot.lib.led.LEDAnimation;
+import frc.robot.lib.led.LEDCompositor;
+
+import org.littletonrobotics.junction.Logger;
 
 import com.ctre.phoenix.led.*;
 import com.ctre.phoenix.led.CANdle.LEDStripType;
 import com.ctre.phoenix.led.CANdle.VBatOutputMode;
 
+import edu.wpi.first.wpilibj.RobotController;
+
 public class LED {
     public static final CANdle m_candle = new CANdle(Constants.LED.CANdleID, "rio");
-    public final int LedCount = 42;
+    public final int LedCount = Constants.LED.LED_COUNT;
 
     private static boolean backButtonPrev = false;
     public static boolean backButton = false;
-    
+
     public static Animation m_toAnimate = null;
 
+    /* every frame is built here once, nothing below does color math per loop */
+    public static final LEDAnimation CONE = LEDAnimation.solid(Constants.LED.LED_COUNT, LEDAnimation.rgb(255, 228, 0));
+    public static final LEDAnimation CUBE = LEDAnimation.solid(Constants.LED.LED_COUNT, LEDAnimation.rgb(174, 0, 255));
+    private static final LEDAnimation ALIGNING = LEDAnimation.bar(Constants.LED.LED_COUNT, LEDAnimation.rgb(255, 255, 255));
+    private static final LEDAnimation ALIGNED = LEDAnimation.solid(Constants.LED.LED_COUNT, LEDAnimation.rgb(0, 255, 0));
+    private static final LEDAnimation BROWNOUT = LEDAnimation.blink(Constants.LED.LED_COUNT,
+        LEDAnimation.rgb(255, 0, 0), LEDAnimation.OFF, Constants.LED.BROWNOUT_BLINK_PERIOD_SECONDS);
+
+    public static final LEDCompositor<LEDLayer> compositor = new LEDCompositor<>(
+        LEDLayer.values(),
+        Constants.LED.LED_COUNT,
+        (r, g, b, startIndex, count) -> m_candle.setLEDs(r, g, b, 0, startIndex, count),
+        Constants.LED.MIN_UPDATE_PERIOD_SECONDS,
+        Constants.LED.MAX_SEGMENTS_PER_UPDATE,
+        Constants.OUTPUTS.LED_KEEP_ALIVE_SECONDS);
+
     public void CANdleSystem() {
         CANdleConfiguration configAll = new CANdleConfiguration();
         configAll.statusLedOffWhenActive = true;
@@ -26,9 +49,42 @@ public class LED {
         m_candle.configAllSettings(configAll, 100);
     }
 
+    public static void setGamePiece(LEDAnimation animation) {
+        compositor.set(LEDLayer.GAME_PIECE, animation, RobotController.getFPGATime());
+    }
+
+    /** Fills the strip as the robot closes on its auto-align target, solid green once it's there */
+    public static void showAlignment(double distanceMeters) {
+        if (distanceMeters <= Constants.LED.ALIGN_TOLERANCE_METERS) {
+            compositor.setFrame(LEDLayer.ALIGNMENT, ALIGNED, 0);
+            return;
+        }
+        double closeness = 1.0 - distanceMeters / Constants.LED.ALIGN_MAX_DISTANCE_METERS;
+        compositor.setFrame(LEDLayer.ALIGNMENT, ALIGNING, (int) Math.round(closeness * Constants.LED.LED_COUNT));
+    }
+
+    public static void clearAlignment() {
+        compositor.clear(LEDLayer.ALIGNMENT);
+    }
+
+    /** Makes the next update resend the whole strip, for after an animation has drawn over it */
+    public static void invalidate() {
+        compositor.invalidate();
+    }
+
     public static void periodic() {
-        boolean backButtonCurr = RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.LED_BUTTON);
+        // this runs slower than the snapshot's edges last, so it keeps its own previous value
+        boolean backButtonCurr = RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.LED_BUTTON);
         backButton = !backButtonPrev && backButtonCurr;
         backButtonPrev = backButtonCurr;
+
+        long now = RobotController.getFPGATime();
+        if (RobotController.isBrownedOut() || RobotController.getBatteryVoltage() < Constants.LED.BROWNOUT_WARNING_VOLTS) {
+            compositor.set(LEDLayer.BROWNOUT, BROWNOUT, now);
+        } else {
+            compositor.clear(LEDLayer.BROWNOUT);
+        }
+        compositor.update(now);
+        Logger.getInstance().recordOutput("LED/SegmentsWritten", (double) compositor.getSegmentsWritten());
     }
 }
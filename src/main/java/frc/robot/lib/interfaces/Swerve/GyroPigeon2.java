@@ -7,16 +7,25 @@ package frc.robot.lib.interfaces.Swerve;
 
 import com.ctre.phoenix.sensors.WPI_Pigeon2;
 
+import frc.robot.Constants;
+import frc.robot.RobotMap;
+import frc.robot.lib.can.CANDeviceBudget;
+import frc.robot.lib.can.CANSignal;
+
 
 /** Add your docs here. */
 public class GyroPigeon2 implements GyroIO{
 
     private static WPI_Pigeon2 gyro;
+    // OdometryIOPhoenix reads yaw faster than the loop and raises the rate here
+    final CANDeviceBudget budget;
 
     
     public GyroPigeon2(int id){
         gyro = new WPI_Pigeon2(id, "Swerve");
         gyro.configFactoryDefault();
+        budget = RobotMap.canBudget.pigeon2(Constants.CAN.SWERVE_BUS, "Pigeon2", gyro)
+            .consume(CANSignal.PIGEON_YAW_PITCH_ROLL, Constants.CAN.CONTROL_RATE_HZ);
     }
     
     public void updateInputs(GyroIOInputs inputs) {
@@ -25,6 +34,10 @@ public class GyroPigeon2 implements GyroIO{
         inputs.roll = gyro.getRoll();
       }
 
+      WPI_Pigeon2 getPigeon() {
+        return gyro;
+      }
+
       public void zeroGyro(){
         gyro.setYaw(0);
     }
@@ -0,0 +1,28 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Swerve;
+
+import org.littletonrobotics.junction.AutoLog;
+
+/**
+ * Drivetrain sensor samples taken faster than the robot loop. Each update hands over every
+ * sample since the last one so the pose estimator can integrate all of them, and logging them
+ * as inputs lets replay integrate the same samples.
+ */
+public interface OdometryIO {
+    @AutoLog
+    public static class OdometryIOInputs {
+        // FPGA seconds, one per sample
+        public double[] timestamps = new double[0];
+        // raw Pigeon2 yaw, one per sample
+        public double[] yawDegrees = new double[0];
+        // four per sample in module number order
+        public double[] drivePositionsMeters = new double[0];
+        public double[] steerAnglesDegrees = new double[0];
+        public long droppedSamples;
+    }
+
+    public default void updateInputs(OdometryIOInputs inputs) {}
+}
@@ -0,0 +1,92 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Swerve;
+
+import com.ctre.phoenix.motorcontrol.can.TalonFX;
+import com.ctre.phoenix.sensors.WPI_Pigeon2;
+
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.Constants;
+import frc.robot.lib.can.CANSignal;
+import frc.robot.lib.math.Conversions;
+import frc.robot.lib.scheduling.LoopScheduler;
+import frc.robot.lib.util.SampleQueue;
+
+/**
+ * Samples the Pigeon2 yaw and every module's drive position and steer angle on a notifier
+ * thread, faster than the robot loop, into a SampleQueue that updateInputs drains. The sensor
+ * position and yaw status frames are raised to the sampling rate through the CAN budget.
+ *
+ * <p>Phoenix 5 doesn't timestamp status frames, so each sample is stamped with the FPGA time it
+ * was read at. That's off from the real measurement time by at most one frame period.
+ */
+public class OdometryIOPhoenix implements OdometryIO {
+    // timestamp, yaw, then a drive position and a steer angle per module
+    private static final int MODULES = 4;
+    private static final int WIDTH = 2 + MODULES * 2;
+
+    private final WPI_Pigeon2 pigeon;
+    private final TalonFX[] driveMotors = new TalonFX[MODULES];
+    private final TalonFX[] angleMotors = new TalonFX[MODULES];
+
+    private final SampleQueue queue;
+    // sampler thread only
+    private final double[] record = new double[WIDTH];
+    // robot loop only
+    private final double[] drained;
+
+    public OdometryIOPhoenix(GyroPigeon2 gyro, SwerveModuleFalcon500... modules) {
+        if (modules.length != MODULES) {
+            throw new IllegalArgumentException("Odometry needs " + MODULES + " modules, got " + modules.length);
+        }
+        pigeon = gyro.getPigeon();
+        gyro.budget.consume(CANSignal.PIGEON_YAW_PITCH_ROLL, Constants.SWERVE.ODOMETRY_RATE_HZ);
+        for (int i = 0; i < MODULES; i++) {
+            driveMotors[i] = modules[i].mDriveMotor;
+            angleMotors[i] = modules[i].mAngleMotor;
+            modules[i].driveBudget.consume(CANSignal.TALON_SENSOR_POSITION, Constants.SWERVE.ODOMETRY_RATE_HZ);
+            modules[i].angleBudget.consume(CANSignal.TALON_SENSOR_POSITION, Constants.SWERVE.ODOMETRY_RATE_HZ);
+        }
+        queue = new SampleQueue(Constants.SWERVE.ODOMETRY_QUEUE_CAPACITY, WIDTH);
+        drained = new double[queue.getCapacity() * WIDTH];
+    }
+
+    /** Starts sampling on its own notifier thread */
+    public void start(LoopScheduler scheduler) {
+        scheduler.addNotifierTask("Odometry", 1.0 / Constants.SWERVE.ODOMETRY_RATE_HZ,
+            Constants.SCHEDULER.ODOMETRY_PRIORITY, this::sample);
+    }
+
+    private void sample() {
+        record[0] = RobotController.getFPGATime() / 1.0e6;
+        record[1] = pigeon.getYaw();
+        for (int i = 0; i < MODULES; i++) {
+            record[2 + i] = Conversions.falconToMeters(driveMotors[i].getSelectedSensorPosition(),
+                Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO);
+            record[2 + MODULES + i] = Conversions.falconToDegrees(angleMotors[i].getSelectedSensorPosition(),
+                Constants.SWERVE.ANGLE_GEAR_RATIO);
+        }
+        queue.offer(record);
+    }
+
+    @Override
+    public void updateInputs(OdometryIOInputs inputs) {
+        int count = queue.drain(drained, queue.getCapacity());
+        if (inputs.timestamps.length != count) {
+            inputs.timestamps = new double[count];
+            inputs.yawDegrees = new double[count];
+            inputs.drivePositionsMeters = new double[count * MODULES];
+            inputs.steerAnglesDegrees = new double[count * MODULES];
+        }
+        for (int i = 0; i < count; i++) {
+            int offset = i * WIDTH;
+            inputs.timestamps[i] = drained[offset];
+            inputs.yawDegrees[i] = drained[offset + 1];
+            System.arraycopy(drained, offset + 2, inputs.drivePositionsMeters, i * MODULES, MODULES);
+            System.arraycopy(drained, offset + 2 + MODULES, inputs.steerAnglesDegrees, i * MODULES, MODULES);
+        }
+        inputs.droppedSamples = queue.getDropped();
+    }
+}
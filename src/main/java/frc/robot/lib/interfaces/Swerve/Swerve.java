@@ -4,26 +4,35 @@
 
 package frc.robot.lib.interfaces.Swerve;
 
-import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.littletonrobotics.junction.Logger;
 
 import edu.wpi.first.apriltag.AprilTagFieldLayout;
 import edu.wpi.first.apriltag.AprilTagFields;
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.Nat;
 import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
-import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Timer;
 import frc.robot.Constants;
 import frc.robot.LimelightHelpers;
+import frc.robot.LoopStage;
 import frc.robot.RobotMap;
-import frc.robot.LimelightHelpers.LimelightResults;
+import frc.robot.lib.log.ConsoleLog;
 import frc.robot.lib.math.Conversions;
+import frc.robot.lib.util.FieldTargetIndex;
+import frc.robot.lib.util.PoseHistory;
+import frc.robot.lib.util.SwerveSetpoints;
+import frc.robot.lib.vision.LimelightFrame;
 
 /** Class with methods that get used in states of DrivetrainStateMachine */
 public class Swerve {
@@ -32,14 +41,34 @@ public class Swerve {
     
     public static SwerveModule[] mSwerveMods;
 
+    // each module's own state and position objects, which it refreshes every period
+    private final SwerveModuleState[] moduleStates = new SwerveModuleState[4];
+    private final SwerveModulePosition[] modulePositions = new SwerveModulePosition[4];
+
+    // drive's module speeds and angles, reused every call
+    private final SwerveSetpoints setpoints = new SwerveSetpoints();
+
+    // the estimator is only touched on the main thread, other threads read this copy
+    private final AtomicReference<Pose2d> publishedPose = new AtomicReference<>(new Pose2d());
+
+    // where the estimator had the robot each loop, for checking vision against
+    public final PoseHistory poseHistory = new PoseHistory(Constants.SWERVE.POSE_HISTORY_CAPACITY);
+
     public GyroIO gyro;
     private static GyroIOInputsAutoLogged GyroInputs = new GyroIOInputsAutoLogged();
+
+    // samples taken between loops, replayed into the estimator in order
+    private final OdometryIO odometry;
+    private final OdometryIOInputsAutoLogged odometryInputs = new OdometryIOInputsAutoLogged();
+    private final SwerveModulePosition[] samplePositions = {
+        new SwerveModulePosition(), new SwerveModulePosition(), new SwerveModulePosition(), new SwerveModulePosition()
+    };
+    // angle each sample position was last given, a new Rotation2d only when it changes
+    private final double[] sampleSteerDegrees = new double[4];
     //public static PhotonCamera camera;
 
     private double previousPipelineTimestamp = 0;
     
-    private static ArrayList<Pose2d> scoringPoses = new ArrayList<Pose2d>();
-    private static ArrayList<Pose2d> loadingStationPoses = new ArrayList<Pose2d>();
     private Pose2d closestPose;
     public static int poseNumber;
     public static AprilTagFieldLayout aprilTagFieldLayout;
@@ -49,9 +78,7 @@ public class Swerve {
     private static double rollOffset = 0.0;
     private static double pitchOffset = 0.0;
 
-    private static boolean leftShiftPrev = false;
-    private static boolean rightShiftPrev = false;
-    private static boolean bButtonPrev = false;
+    private static final ConsoleLog.Site targetLog = ConsoleLog.site("Swerve", ConsoleLog.Level.INFO, 0.0);
 
     public static boolean leftShift = false;
     public static boolean rightShift = false;
@@ -61,6 +88,15 @@ public class Swerve {
     SwerveModuleIO flModuleIO,
     SwerveModuleIO frModuleIO,
     SwerveModuleIO blModuleIO,
+    SwerveModuleIO brModuleIO) {
+        this(gyro, new OdometryIO(){}, flModuleIO, frModuleIO, blModuleIO, brModuleIO);
+    }
+
+    public Swerve(GyroIO gyro,
+    OdometryIO odometry,
+    SwerveModuleIO flModuleIO,
+    SwerveModuleIO frModuleIO,
+    SwerveModuleIO blModuleIO,
     SwerveModuleIO brModuleIO) {
         
         try {
@@ -71,12 +107,17 @@ public class Swerve {
         }
 
         this.gyro = gyro;
+        this.odometry = odometry;
         mSwerveMods = new SwerveModule[]{
             new SwerveModule(flModuleIO, 0),
             new SwerveModule(frModuleIO, 1),
             new SwerveModule(blModuleIO, 2),
             new SwerveModule(brModuleIO, 3),
         };
+        for(SwerveModule mod : mSwerveMods){
+            moduleStates[mod.moduleNumber] = mod.getState();
+            modulePositions[mod.moduleNumber] = mod.getPosition();
+        }
 
         swerveOdometry = new SwerveDrivePoseEstimator(
             Constants.SWERVE.SWERVE_KINEMATICS, 
@@ -95,58 +136,9 @@ public class Swerve {
         gyro.updateInputs(GyroInputs);
         Logger.getInstance().processInputs("GYRO", GyroInputs);
 
-        boolean leftShiftCurr = RobotMap.driverController.getRawButton(Constants.DriverControls.SHIFT_LEFT_BUTTON);
-        leftShift = !leftShiftPrev && leftShiftCurr;
-        leftShiftPrev = leftShiftCurr;
-        boolean rightShiftCurr = RobotMap.driverController.getRawButton(Constants.DriverControls.SHIFT_RIGHT_BUTTON);
-        rightShift = !rightShiftPrev && rightShiftCurr;
-        rightShiftPrev = rightShiftCurr;
-
-        boolean bButtonCurr = RobotMap.driverController.getRawButton(Constants.DriverControls.TOGGLE_ACCEL_BUTTON);
-        bButton = !bButtonPrev && bButtonCurr;
-        bButtonPrev = bButtonCurr;
-
-        double starting_x = 0.0;
-        Rotation2d rotation = Rotation2d.fromDegrees(0.0);
-        Pose2d starting_loading_station = new Pose2d();
-        Rotation2d loading_station_rotation = Rotation2d.fromDegrees(0.0);
-
-        if (DriverStation.getAlliance() == DriverStation.Alliance.Red) {
-            starting_x = Constants.TargetPoses.RED_TRANSPOSE_DISTANCE - Constants.TargetPoses.BLUE_SCORING_X;
-            rotation = Rotation2d.fromDegrees(0.0);
-            starting_loading_station = new Pose2d(
-                Constants.TargetPoses.RED_TRANSPOSE_DISTANCE - Constants.TargetPoses.BLUE_SUBSTATION_X, 
-                Constants.TargetPoses.BLUE_SUBSTATION_Y, 
-                loading_station_rotation = Rotation2d.fromDegrees(180.0)
-            );
-        } else if (DriverStation.getAlliance() == DriverStation.Alliance.Blue) {
-            starting_x = Constants.TargetPoses.BLUE_SCORING_X;
-            rotation = Rotation2d.fromDegrees(180.0);
-            starting_loading_station = new Pose2d(
-                Constants.TargetPoses.BLUE_SUBSTATION_X,
-                Constants.TargetPoses.BLUE_SUBSTATION_Y,
-                loading_station_rotation = Rotation2d.fromDegrees(0.0)
-            );
-        }
-
-        scoringPoses.clear();
-        loadingStationPoses.clear();
-
-        for (int i = 0; i < 9; i++) {
-            scoringPoses.add(new Pose2d(
-                starting_x,
-                Constants.TargetPoses.BLUE_SCORING_Y + i * Constants.TargetPoses.SCORING_SPACING,
-                rotation
-            ));
-        }
-
-        for (int i = 0; i < 2; i++) {
-            loadingStationPoses.add(new Pose2d(
-                starting_loading_station.getX(),
-                Constants.TargetPoses.BLUE_SUBSTATION_Y - i * Constants.TargetPoses.SUBSTATION_SPACING,
-                loading_station_rotation
-            ));
-        }
+        leftShift = RobotMap.inputs.driver.getRawButtonPressed(Constants.DriverControls.SHIFT_LEFT_BUTTON);
+        rightShift = RobotMap.inputs.driver.getRawButtonPressed(Constants.DriverControls.SHIFT_RIGHT_BUTTON);
+        bButton = RobotMap.inputs.driver.getRawButtonPressed(Constants.DriverControls.TOGGLE_ACCEL_BUTTON);
     }
 
     public static void zeroRoll() {
@@ -166,23 +158,24 @@ public class Swerve {
     }
     
     public void drive(Translation2d translation, double rotation, boolean fieldRelative, boolean isOpenLoop) {
-        SwerveModuleState[] swerveModuleStates =
-            Constants.SWERVE.SWERVE_KINEMATICS.toSwerveModuleStates(
-                fieldRelative ? ChassisSpeeds.fromFieldRelativeSpeeds(
-                                    translation.getX(), 
-                                    translation.getY(), 
-                                    rotation, 
-                                    getYaw()
-                                )
-                                : new ChassisSpeeds(
-                                    translation.getX(), 
-                                    translation.getY(), 
-                                    rotation)
-                                );
-        SwerveDriveKinematics.desaturateWheelSpeeds(swerveModuleStates, Constants.SWERVE.MAX_SPEED);
+        drive(translation.getX(), translation.getY(), rotation, fieldRelative, isOpenLoop);
+    }
+
+    /** Same as drive with a Translation2d, kept in preallocated arrays all the way to the modules */
+    public void drive(double xSpeed, double ySpeed, double rotation, boolean fieldRelative, boolean isOpenLoop) {
+        if (fieldRelative) {
+            setpoints.fromFieldRelativeSpeeds(xSpeed, ySpeed, rotation, Math.toRadians(getYawDegrees()));
+        } else {
+            setpoints.fromChassisSpeeds(xSpeed, ySpeed, rotation);
+        }
+        setpoints.desaturate(Constants.SWERVE.MAX_SPEED);
 
         for(SwerveModule mod : mSwerveMods){
-            mod.io.setDesiredState(swerveModuleStates[mod.moduleNumber], isOpenLoop, mod.getState());
+            setpoints.optimize(mod.moduleNumber, mod.getAngleDegrees());
+            mod.io.setOptimizedState(
+                setpoints.speedsMetersPerSecond[mod.moduleNumber],
+                setpoints.anglesDegrees[mod.moduleNumber],
+                isOpenLoop);
         }
     }    
 
@@ -198,133 +191,56 @@ public class Swerve {
     }
     
     private void updateSwervePoseAprilTags() {
-        // Update pose estimator with the best visible target
-        // var pipelineResult = camera.getLatestResult();
-        // var resultTimestamp = pipelineResult.getTimestampSeconds();
-
-        // if (resultTimestamp == previousPipelineTimestamp) {
-        //     return;
-        // }
-        // if (!pipelineResult.hasTargets()) {
-        //     return;
-        // }
-
-        // previousPipelineTimestamp = resultTimestamp;
-        // var target = pipelineResult.getBestTarget();
-        // // System.out.println(target);
-        // var fiducialId = target.getFiducialId();
-        
-        // if (fiducialId <= 0 || fiducialId > 8) {
-        //     return;
-        // }
-
-        // Get the tag pose from field layout - consider that the layout will be null if it failed to load
-        // Optional<Pose3d> tagPose = aprilTagFieldLayout.getTagPose(fiducialId);
-
-        // if (target.getPoseAmbiguity() > 0.1) {
-        //     return;
-        // }
-        // if (!tagPose.isPresent()) {
-        //     return;
-        // }
-
-        
-        // FieldObject2d tagPoseDisplay = RobotMap.Field2d.getObject("tagPose");
-        // tagPoseDisplay.setPose(tagPose.get().toPose2d());
-        // var targetPose = tagPose.get();
-        // Transform3d camToTarget = target.getBestCameraToTarget();
-        // System.out.println(camToTarget);
-        // Pose2d camPose = new Pose2d(
-        //     targetPose.getX() + camToTarget.getX(), 
-        //     targetPose.getY() + camToTarget.getY(), 
-        //     targetPose.getRotation().toRotation2d().plus(camToTarget.getRotation().toRotation2d())
-        // );
-        // // Pose3d camPose = targetPose.transformBy(camToTarget.inverse());
-        // FieldObject2d camPoseDisplay = RobotMap.Field2d.getObject("camPose");
-        // camPoseDisplay.setPose(camPose);
-        // var visionMeasurement = camPose;
-        // // var visionMeasurement = camPose.transformBy(Constants.PhotonConstants.ROBOT_TO_CAM);
-        // FieldObject2d visionMeasurementDisplay = RobotMap.Field2d.getObject("visionMeasurement");
-        // visionMeasurementDisplay.setPose(visionMeasurement);
-        // swerveOdometry.addVisionMeasurement(visionMeasurement, resultTimestamp);
+        // PhotonVision cameras, or the simulated one
+        RobotMap.photonVision.addMeasurements(swerveOdometry);
     }
 
-    private Pose2d lastLLBotPose2d = new Pose2d(new Translation2d(0, 0), Rotation2d.fromDegrees(0.0));
+    // reused for every measurement, the estimator copies the values
+    private final Matrix<N3, N1> visionStdDevs = new Matrix<>(Nat.N3(), Nat.N1());
 
     private void updateSwervePoseLimelight() {
-        // double tl = LimelightHelpers.getLatency_Pipeline(Constants.LIMELIGHT.NAME);
-        // double tc = LimelightHelpers.getLatency_Capture(Constants.LIMELIGHT.NAME);
-        LimelightResults results = LimelightHelpers.getLatestResults(Constants.LIMELIGHT.NAME);
-        var num_targets = results.targetingResults.targets_Fiducials.length;
-        Pose2d botPose2d = LimelightHelpers.toPose2D(results.targetingResults.botpose_wpiblue);
-        double tl = results.targetingResults.latency_pipeline;
-        double tc = results.targetingResults.latency_capture;
-
-        if (Math.abs(results.targetingResults.botpose_wpiblue[0]) < 1.0E-10 && 
-            Math.abs(results.targetingResults.botpose_wpiblue[1]) < 1.0E-10 && 
-            Math.abs(results.targetingResults.botpose_wpiblue[2]) < 1.0E-10 && 
-            Math.abs(results.targetingResults.botpose_wpiblue[3]) < 1.0E-10 && 
-            Math.abs(results.targetingResults.botpose_wpiblue[4]) < 1.0E-10 && 
-            Math.abs(results.targetingResults.botpose_wpiblue[5]) < 1.0E-10) {
-            return;
-        }
-
-        if (num_targets != 1) {
-            return;
-        }
-
-        if (botPose2d.getTranslation().getDistance(lastLLBotPose2d.getTranslation()) > 1.0) {
-            lastLLBotPose2d = botPose2d;
-            return;
+        // accepted frames from every camera that arrived since the last loop, oldest first,
+        // already checked against poseHistory
+        LimelightFrame frame;
+        while ((frame = RobotMap.vision.poll()) != null) {
+            visionStdDevs.set(0, 0, frame.stdDevXY);
+            visionStdDevs.set(1, 0, frame.stdDevXY);
+            visionStdDevs.set(2, 0, frame.stdDevTheta);
+            swerveOdometry.addVisionMeasurement(
+                LimelightHelpers.toPose2D(frame.botpose_wpiblue),
+                frame.getCaptureTimestampSeconds(),
+                visionStdDevs);
         }
-        lastLLBotPose2d = botPose2d;
-
-        if ((int)LimelightHelpers.getFiducialID(Constants.LIMELIGHT.NAME) == -1.0) {
-            return;
-        }
-
-        if (LimelightHelpers.getTargetPose3d_CameraSpace(Constants.LIMELIGHT.NAME).getZ() > 2.5) {
-            return;
-        }
-
-        // SmartDashboard.putNumber("LL pose data X", botPose2d.getTranslation().getX());
-        // SmartDashboard.putNumber("LL pose data Y", botPose2d.getTranslation().getY());
-        // SmartDashboard.putNumber("LL pose data rotation", botPose2d.getRotation().getDegrees());
-        // SmartDashboard.putNumber("LL delay", timer.get() / 1000.0);
-
-        swerveOdometry.addVisionMeasurement(botPose2d, 
-        Timer.getFPGATimestamp() - 
-            (tl/1000.0) - 
-            (tc/1000.0)
-        );
     }
 
+    /**
+     * The estimated pose as of the last updatePoses or resetOdometry. Safe to call from any
+     * thread, it reads one published immutable Pose2d without locking or allocating.
+     */
     public Pose2d getPose() {
-        var pose = swerveOdometry.getEstimatedPosition();
-        Logger.getInstance().recordOutput("botMeasuredAngleDeg", pose.getRotation().getDegrees());
-        Logger.getInstance().recordOutput("botMeasuredX", pose.getX());
-        Logger.getInstance().recordOutput("botMeasuredY", pose.getY());
-        return pose;
+        return publishedPose.get();
+    }
+
+    // main thread only, after anything that changes the estimate
+    private void publishPose() {
+        publishedPose.set(swerveOdometry.getEstimatedPosition());
     }
 
     public void resetOdometry(Pose2d pose) {
         swerveOdometry.resetPosition(getYaw(), getModulePositions(), pose);
+        publishPose();
+        // the old poses no longer mean anything to compare vision against
+        poseHistory.clear();
     }
 
+    /** Live module states, refreshed in place every periodic, don't modify */
     public SwerveModuleState[] getModuleStates(){
-        SwerveModuleState[] states = new SwerveModuleState[4];
-        for(SwerveModule mod : mSwerveMods){
-            states[mod.moduleNumber] = mod.getState();
-        }
-        return states;
+        return moduleStates;
     }
 
+    /** Live module positions, refreshed in place every periodic, don't modify */
     public SwerveModulePosition[] getModulePositions(){
-        SwerveModulePosition[] positions = new SwerveModulePosition[4];
-        for(SwerveModule mod : mSwerveMods){
-            positions[mod.moduleNumber] = mod.getPosition();
-        }
-        return positions;
+        return modulePositions;
     }
 
     public void zeroGyro(){
@@ -332,7 +248,11 @@ public class Swerve {
     }
 
     public Rotation2d getYaw() {
-        return (Constants.SWERVE.INVERT_GYRO) ? Rotation2d.fromDegrees(360 - GyroInputs.yaw) : Rotation2d.fromDegrees(GyroInputs.yaw);
+        return Rotation2d.fromDegrees(getYawDegrees());
+    }
+
+    public double getYawDegrees() {
+        return (Constants.SWERVE.INVERT_GYRO) ? 360 - GyroInputs.yaw : GyroInputs.yaw;
     }
 
     public void resetModulesToAbsolute(){
@@ -343,25 +263,69 @@ public class Swerve {
     }
     
     private void updateSwervePoseKinematics() {
-        // Update pose estimator with drivetrain sensors
-        swerveOdometry.update(
-            Rotation2d.fromDegrees(GyroInputs.yaw),
-            RobotMap.swerve.getModulePositions());
+        odometry.updateInputs(odometryInputs);
+        Logger.getInstance().processInputs("Odometry", odometryInputs);
+
+        int samples = odometryInputs.timestamps.length;
+        if (samples == 0) {
+            // no odometry thread, update once from this loop's inputs. Stamped with FPGA time
+            // like the thread's samples, so the estimator's history stays on one clock
+            double timestamp = Timer.getFPGATimestamp();
+            Pose2d pose = swerveOdometry.updateWithTime(
+                timestamp,
+                Rotation2d.fromDegrees(GyroInputs.yaw),
+                modulePositions);
+            poseHistory.add(timestamp, pose.getX(), pose.getY(), pose.getRotation().getRadians());
+            return;
+        }
+
+        // integrate every sample since the last loop, the estimator copies the positions
+        for (int i = 0; i < samples; i++) {
+            for (int module = 0; module < samplePositions.length; module++) {
+                int index = i * samplePositions.length + module;
+                samplePositions[module].distanceMeters = odometryInputs.drivePositionsMeters[index];
+                double steerDegrees = odometryInputs.steerAnglesDegrees[index];
+                if (steerDegrees != sampleSteerDegrees[module]) {
+                    sampleSteerDegrees[module] = steerDegrees;
+                    samplePositions[module].angle = Rotation2d.fromDegrees(steerDegrees);
+                }
+            }
+            double timestamp = odometryInputs.timestamps[i];
+            Pose2d pose = swerveOdometry.updateWithTime(
+                timestamp,
+                Rotation2d.fromDegrees(odometryInputs.yawDegrees[i]),
+                samplePositions);
+            poseHistory.add(timestamp, pose.getX(), pose.getY(), pose.getRotation().getRadians());
+        }
     }
 
     public void updatePoses() {
         updateSwervePoseKinematics();
+        RobotMap.loopProfiler.mark(LoopStage.SWERVE_UPDATE_POSES);
+        RobotMap.photonVision.periodic();
         if (!DriverStation.isAutonomous()) {
             updateSwervePoseLimelight();
-            //updateSwervePoseAprilTags();
+            updateSwervePoseAprilTags();
+        } else {
+            // don't let auto's frames pile up and get applied late in teleop
+            RobotMap.vision.skipAll();
         }
+        publishPose();
+
+        Pose2d pose = getPose();
+        Logger.getInstance().recordOutput("botMeasuredAngleDeg", pose.getRotation().getDegrees());
+        Logger.getInstance().recordOutput("botMeasuredX", pose.getX());
+        Logger.getInstance().recordOutput("botMeasuredY", pose.getY());
+        RobotMap.loopProfiler.mark(LoopStage.VISION);
     }
 
     /** Updates the field relative position of the robot. */
     public void updateSwervePoseEstimator() {
-        swerveOdometry.update(
+        swerveOdometry.updateWithTime(
+            Timer.getFPGATimestamp(),
             Rotation2d.fromDegrees(GyroInputs.yaw),
             getModulePositions());
+        publishPose();
     }
 
     public double getPoseDistance(Pose2d currentPose, Pose2d targetPose) {
@@ -369,57 +333,26 @@ public class Swerve {
     }
 
     public double setClosestPose(Pose2d currentPose) {
+        // the index is built once per alliance, so this is a scan over 11 primitive entries
+        FieldTargetIndex targets = FieldTargetIndex.forAlliance(DriverStation.getAlliance());
+        int target = targets.nearest(currentPose.getX(), currentPose.getY());
+        closestPose = targets.getPose(target);
+        // pose number = -1 at the substation, no pose shifting there
+        poseNumber = targets.getScoringNode(target);
 
-        // get the closest pose
-        // get distance between current pose and target pose of every target pose 
-        // for the pose with shortest distance, make that the closest pose
-        poseNumber = -1;
-        double shortestDistance = 1000.0;
-
-        // compare the distance between our current pose and loading station poses
-        for (int i = 0; i < loadingStationPoses.size(); i++) {
-            System.out.println("Loading station pose " + i + ": " + loadingStationPoses.get(i));
-            double temp_distance = currentPose.getTranslation().getDistance(loadingStationPoses.get(i).getTranslation());
-            if (temp_distance < shortestDistance) {
-                shortestDistance = temp_distance;
-                closestPose = loadingStationPoses.get(i);
-                System.out.println("Setting closest pose to: " + closestPose);
-                // pose number = -1 still, no pose shifting at the substation
-            }
-        }
-
-        // compare the distance between current pose and scoring poses
-        for (int i = 0; i < scoringPoses.size(); i++) {
-            double temp_distance = currentPose.getTranslation().getDistance(scoringPoses.get(i).getTranslation());
-            System.out.println("Scoring pose " + i + ": " + scoringPoses.get(i));
-            /* the shortest distance is currently the distance to loading station pose 0 or 1
-            if the distance from current pose to the scoring pose is smaller than 
-            distance to closest loading station pose, make this our closest pose */
-            if (temp_distance < shortestDistance) {
-                shortestDistance = temp_distance;
-                closestPose = scoringPoses.get(i);
-                System.out.println("Setting closest pose to: " + closestPose);
-                poseNumber = i;
-            }
-        }
-
-        System.out.println("Shortest distance: " + shortestDistance);
-        System.out.println("Closest pose: " + closestPose);
-        System.out.println("Pose #: " + poseNumber);
+        targetLog.log("Closest pose: %s, pose #: %d", closestPose, poseNumber);
 
-        return shortestDistance;
+        return targets.distance(target, currentPose.getX(), currentPose.getY());
     }
 
     public void shiftPose(boolean increase) {
-        if (poseNumber == -1) {
+        if (poseNumber == FieldTargetIndex.NO_SCORING_NODE) {
             return;
         }
-        poseNumber = increase ? 
-            poseNumber + 1 :
-            poseNumber - 1;
-        poseNumber = Math.max(Math.min(poseNumber, 8), 0);
-        closestPose = scoringPoses.get(poseNumber);
-        System.out.println("Shifting to pose " + closestPose);
+        FieldTargetIndex targets = FieldTargetIndex.forAlliance(DriverStation.getAlliance());
+        poseNumber = targets.shiftScoringNode(poseNumber, increase);
+        closestPose = targets.getScoringNodePose(poseNumber);
+        targetLog.log("Shifting to pose %s", closestPose);
     }
 
     public void shiftPoseRight() {
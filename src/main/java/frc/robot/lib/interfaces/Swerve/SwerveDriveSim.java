@@ -0,0 +1,61 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Swerve;
+
+import org.littletonrobotics.junction.Logger;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.Constants;
+
+/**
+ * Where the simulated robot really is, integrated from the states its modules were commanded
+ * with no slip or lag. This is the ground truth the simulated camera looks from, kept apart from
+ * the pose estimator so vision in SIM measures something the estimator doesn't already know.
+ * Main thread only.
+ */
+public class SwerveDriveSim {
+    private final SwerveModuleState[] commanded;
+    private Pose2d pose = new Pose2d();
+    private double lastTimestamp = Double.NaN;
+
+    public SwerveDriveSim(SwerveModuleIOSim... modules) {
+        commanded = new SwerveModuleState[modules.length];
+        for (int i = 0; i < modules.length; i++) {
+            commanded[i] = modules[i].getCommandedState();
+        }
+    }
+
+    /** Moves the robot by the commanded speeds over the time since the last update */
+    public void update() {
+        double now = Timer.getFPGATimestamp();
+        double dt = Double.isNaN(lastTimestamp) ? 0.0 : now - lastTimestamp;
+        lastTimestamp = now;
+        // disabled motors don't drive
+        if (DriverStation.isEnabled() && dt > 0.0) {
+            ChassisSpeeds speeds = Constants.SWERVE.SWERVE_KINEMATICS.toChassisSpeeds(commanded);
+            pose = pose.exp(new Twist2d(
+                speeds.vxMetersPerSecond * dt,
+                speeds.vyMetersPerSecond * dt,
+                speeds.omegaRadiansPerSecond * dt));
+        }
+        Logger.getInstance().recordOutput("botTrueAngleDeg", pose.getRotation().getDegrees());
+        Logger.getInstance().recordOutput("botTrueX", pose.getX());
+        Logger.getInstance().recordOutput("botTrueY", pose.getY());
+    }
+
+    /** Puts the robot somewhere, like setting it on the field before a match */
+    public void resetPose(Pose2d pose) {
+        this.pose = pose;
+    }
+
+    public Pose2d getPose() {
+        return pose;
+    }
+}
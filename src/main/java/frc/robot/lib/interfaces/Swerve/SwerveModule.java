@@ -14,12 +14,22 @@ import frc.robot.lib.math.Conversions;
 
 /** Add your docs here. */
 public class SwerveModule {
+    /* Conversion factors, worked out once instead of on every read */
+    private static final double METERS_PER_COUNT = Conversions.falconToMeters(1.0, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO);
+    private static final double MPS_PER_VELOCITY_COUNT = Conversions.falconToMPS(1.0, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO);
+    private static final double DEGREES_PER_COUNT = Conversions.falconToDegrees(1.0, Constants.SWERVE.ANGLE_GEAR_RATIO);
+
     public Rotation2d angleOffset;
 
     public int moduleNumber;
     public  SwerveModuleIO io;
     private  SwerveModuleIOInputsAutoLogged inputs = new SwerveModuleIOInputsAutoLogged();
 
+    // refreshed in place every period, handed out by getPosition and getState
+    private final SwerveModulePosition position = new SwerveModulePosition();
+    private final SwerveModuleState state = new SwerveModuleState();
+    private double lastAngleCounts = Double.NaN;
+
     
     public SwerveModule(SwerveModuleIO io, int moduleNumber){
         this.io = io;
@@ -44,28 +54,34 @@ public class SwerveModule {
     public void period(){
         io.updateInputs(inputs);
         Logger.getInstance().processInputs("SwerveMOD" + moduleNumber, inputs);
+
+        // Rotation2d can't be changed in place, so only make a new one when the module turned
+        if (inputs.angleMotorSensorPosition != lastAngleCounts) {
+            lastAngleCounts = inputs.angleMotorSensorPosition;
+            Rotation2d angle = Rotation2d.fromDegrees(getAngleDegrees());
+            position.angle = angle;
+            state.angle = angle;
+        }
+        position.distanceMeters = inputs.driveMotorSensorPos * METERS_PER_COUNT;
+        state.speedMetersPerSecond = inputs.driveMotorSensorVelocity * MPS_PER_VELOCITY_COUNT;
     }
-    
-    private Rotation2d getAngle(){
-        return Rotation2d.fromDegrees(Conversions.falconToDegrees(inputs.angleMotorSensorPosition, Constants.SWERVE.ANGLE_GEAR_RATIO));
+
+    public double getAngleDegrees(){
+        return inputs.angleMotorSensorPosition * DEGREES_PER_COUNT;
     }
     
     public Rotation2d getCanCoder(){
         return Rotation2d.fromDegrees(inputs.angleEncoderAbsolutePos);
     }
     
+    /** The module's state as of the last period, the same object every call */
     public SwerveModuleState getState(){
-        return new SwerveModuleState(
-            Conversions.falconToMPS(inputs.driveMotorSensorVelocity, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO), 
-            getAngle()
-        ); 
+        return state;
     }
 
+    /** The module's position as of the last period, the same object every call */
     public SwerveModulePosition getPosition(){
-        return new SwerveModulePosition(
-            Conversions.falconToMeters(inputs.driveMotorSensorPos, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO), 
-            getAngle()
-        );
+        return position;
     }
 
 }
@@ -2,15 +2,18 @@ package frc.robot.lib.interfaces.Swerve;
 
 
 import edu.wpi.first.math.controller.SimpleMotorFeedforward;
-import edu.wpi.first.math.geometry.Rotation2d;
 
 import edu.wpi.first.math.kinematics.SwerveModuleState;
 
 import frc.robot.Constants;
+import frc.robot.RobotMap;
+import frc.robot.lib.can.CANDeviceBudget;
+import frc.robot.lib.can.CANSignal;
 import frc.robot.lib.interfaces.CTREConfigs;
 import frc.robot.lib.math.Conversions;
 import frc.robot.lib.util.CTREModuleState;
 import frc.robot.lib.util.SwerveModuleConstants;
+import frc.robot.lib.util.WriteOnChange;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.DemandType;
@@ -19,12 +22,23 @@ import com.ctre.phoenix.sensors.CANCoder;
 
 public class SwerveModuleFalcon500 implements SwerveModuleIO{
 
-    private Rotation2d lastAngle;
+    /* Conversion factors, worked out once instead of on every demand */
+    private static final double VELOCITY_COUNTS_PER_MPS = Conversions.MPSToFalcon(1.0, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO);
+    private static final double ANGLE_COUNTS_PER_DEGREE = Conversions.degreesToFalcon(1.0, Constants.SWERVE.ANGLE_GEAR_RATIO);
+
+    private double lastAngleDegrees;
 
     public TalonFX mAngleMotor;
     public TalonFX mDriveMotor;
     private CANCoder angleEncoder;
 
+    // OdometryIOPhoenix reads sensor positions faster than the loop and raises the rates here
+    final CANDeviceBudget angleBudget;
+    final CANDeviceBudget driveBudget;
+
+    private final WriteOnChange driveOutput;
+    private final WriteOnChange angleOutput;
+
     private static CTREConfigs ctreConfigs;
 
     SimpleMotorFeedforward feedforward = new SimpleMotorFeedforward(Constants.SWERVE.DRIVE_KS, Constants.SWERVE.DRIVE_KV, Constants.SWERVE.DRIVE_KA);
@@ -34,6 +48,8 @@ public class SwerveModuleFalcon500 implements SwerveModuleIO{
     public SwerveModuleFalcon500(SwerveModuleConstants moduleConstants){
 
         ctreConfigs = new CTREConfigs();
+        driveOutput = new WriteOnChange("Swerve drive " + moduleConstants.driveMotorID, Constants.OUTPUTS.MOTOR_KEEP_ALIVE_SECONDS);
+        angleOutput = new WriteOnChange("Swerve angle " + moduleConstants.angleMotorID, Constants.OUTPUTS.MOTOR_KEEP_ALIVE_SECONDS);
         
         /* Angle Encoder Config */
         angleEncoder = new CANCoder(moduleConstants.cancoderID, "Swerve");
@@ -46,8 +62,23 @@ public class SwerveModuleFalcon500 implements SwerveModuleIO{
         /* Drive Motor Config */
         mDriveMotor = new TalonFX(moduleConstants.driveMotorID, "Swerve");
         configDriveMotor();
+
+        /* Status frames, only what updateInputs reads */
+        RobotMap.canBudget.canCoder(Constants.CAN.SWERVE_BUS, "Swerve CANCoder " + moduleConstants.cancoderID, angleEncoder)
+            .consume(CANSignal.CANCODER_POSITION, Constants.CAN.TELEMETRY_RATE_HZ);
+        angleBudget = RobotMap.canBudget.talonFX(Constants.CAN.SWERVE_BUS, "Swerve angle " + moduleConstants.angleMotorID, mAngleMotor)
+            .consume(CANSignal.TALON_SENSOR_POSITION, Constants.CAN.CONTROL_RATE_HZ)
+            .consume(CANSignal.TALON_OUTPUT_PERCENT, Constants.CAN.TELEMETRY_RATE_HZ)
+            .consume(CANSignal.TALON_BUS_VOLTAGE, Constants.CAN.TELEMETRY_RATE_HZ)
+            .consume(CANSignal.TALON_TEMPERATURE, Constants.CAN.TELEMETRY_RATE_HZ);
+        driveBudget = RobotMap.canBudget.talonFX(Constants.CAN.SWERVE_BUS, "Swerve drive " + moduleConstants.driveMotorID, mDriveMotor)
+            .consume(CANSignal.TALON_SENSOR_POSITION, Constants.CAN.CONTROL_RATE_HZ)
+            .consume(CANSignal.TALON_SENSOR_VELOCITY, Constants.CAN.CONTROL_RATE_HZ)
+            .consume(CANSignal.TALON_OUTPUT_PERCENT, Constants.CAN.TELEMETRY_RATE_HZ)
+            .consume(CANSignal.TALON_BUS_VOLTAGE, Constants.CAN.TELEMETRY_RATE_HZ)
+            .consume(CANSignal.TALON_TEMPERATURE, Constants.CAN.TELEMETRY_RATE_HZ);
         
-        lastAngle = Rotation2d.fromDegrees(Conversions.falconToDegrees(mAngleMotor.getSelectedSensorPosition(), Constants.SWERVE.ANGLE_GEAR_RATIO));
+        lastAngleDegrees = Conversions.falconToDegrees(mAngleMotor.getSelectedSensorPosition(), Constants.SWERVE.ANGLE_GEAR_RATIO);
     }
 
     public void setDesiredState(SwerveModuleState desiredState, boolean isOpenLoop, SwerveModuleState state){
@@ -57,22 +88,43 @@ public class SwerveModuleFalcon500 implements SwerveModuleIO{
         setSpeed(desiredState, isOpenLoop);
     }
 
+    public void setOptimizedState(double speedMetersPerSecond, double angleDegrees, boolean isOpenLoop){
+        setAngle(speedMetersPerSecond, angleDegrees);
+        setSpeed(speedMetersPerSecond, isOpenLoop);
+    }
+
     public void setSpeed(SwerveModuleState desiredState, boolean isOpenLoop){
+        setSpeed(desiredState.speedMetersPerSecond, isOpenLoop);
+    }
+
+    private void setSpeed(double speedMetersPerSecond, boolean isOpenLoop){
         if(isOpenLoop){
-            double percentOutput = desiredState.speedMetersPerSecond / Constants.SWERVE.MAX_SPEED;
-            mDriveMotor.set(ControlMode.PercentOutput, percentOutput);
+            double percentOutput = speedMetersPerSecond / Constants.SWERVE.MAX_SPEED;
+            if (driveOutput.shouldWrite(ControlMode.PercentOutput.value, percentOutput, Constants.OUTPUTS.PERCENT_TOLERANCE)) {
+                mDriveMotor.set(ControlMode.PercentOutput, percentOutput);
+            }
         }
         else {
-            double velocity = Conversions.MPSToFalcon(desiredState.speedMetersPerSecond, Constants.SWERVE.WHEEL_CIRCUMFERENCE, Constants.SWERVE.DRIVE_GEAR_RATIO);
-            mDriveMotor.set(ControlMode.Velocity, velocity, DemandType.ArbitraryFeedForward, feedforward.calculate(desiredState.speedMetersPerSecond));
+            double velocity = speedMetersPerSecond * VELOCITY_COUNTS_PER_MPS;
+            double arbFeedforward = feedforward.calculate(speedMetersPerSecond);
+            if (driveOutput.shouldWrite(ControlMode.Velocity.value, velocity, Constants.OUTPUTS.VELOCITY_TOLERANCE_TICKS, arbFeedforward, Constants.OUTPUTS.PERCENT_TOLERANCE)) {
+                mDriveMotor.set(ControlMode.Velocity, velocity, DemandType.ArbitraryFeedForward, arbFeedforward);
+            }
         }
     }
 
     public void setAngle(SwerveModuleState desiredState){
-        Rotation2d angle = (Math.abs(desiredState.speedMetersPerSecond) <= (Constants.SWERVE.MAX_SPEED * 0.01)) ? lastAngle : desiredState.angle; //Prevent rotating module if speed is less then 1%. Prevents Jittering.
+        setAngle(desiredState.speedMetersPerSecond, desiredState.angle.getDegrees());
+    }
+
+    private void setAngle(double speedMetersPerSecond, double angleDegrees){
+        double angle = (Math.abs(speedMetersPerSecond) <= (Constants.SWERVE.MAX_SPEED * 0.01)) ? lastAngleDegrees : angleDegrees; //Prevent rotating module if speed is less then 1%. Prevents Jittering.
         
-        mAngleMotor.set(ControlMode.Position, Conversions.degreesToFalcon(angle.getDegrees(), Constants.SWERVE.ANGLE_GEAR_RATIO));
-        lastAngle = angle;
+        double position = angle * ANGLE_COUNTS_PER_DEGREE;
+        if (angleOutput.shouldWrite(ControlMode.Position.value, position, Constants.OUTPUTS.POSITION_TOLERANCE_TICKS)) {
+            mAngleMotor.set(ControlMode.Position, position);
+        }
+        lastAngleDegrees = angle;
     }
 
     // private Rotation2d getAngle(){
@@ -86,6 +138,8 @@ public class SwerveModuleFalcon500 implements SwerveModuleIO{
     public void resetToAbsolute(double absolutePosition){
         // double absolutePosition = Conversions.degreesToFalcon(getCanCoder().getDegrees() - angleOffset.getDegrees(), Constants.SWERVE.ANGLE_GEAR_RATIO);
         mAngleMotor.setSelectedSensorPosition(absolutePosition);
+        // same target means something different once the sensor moved
+        angleOutput.invalidate();
     }
 
     private void configAngleEncoder(){        
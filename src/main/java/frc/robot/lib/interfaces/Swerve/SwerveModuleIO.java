@@ -37,6 +37,9 @@ public interface SwerveModuleIO {
 
     public default void setDesiredState(SwerveModuleState desiredState, boolean isOpenLoop, SwerveModuleState state){}
 
+    /** Already optimized speed and angle, for the allocation-free drive path */
+    public default void setOptimizedState(double speedMetersPerSecond, double angleDegrees, boolean isOpenLoop){}
+
     public default void setSpeed(SwerveModuleState desiredState, boolean isOpenLoop){}
     
     public default void setAngle(SwerveModuleState desiredState){}
@@ -0,0 +1,53 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Swerve;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.Constants;
+
+/**
+ * A module with no hardware that remembers the last speed and angle it was commanded, for
+ * SwerveDriveSim to drive the simulated robot with. Reports no inputs, so the pose estimator
+ * only learns where the robot is from vision.
+ */
+public class SwerveModuleIOSim implements SwerveModuleIO {
+    private final SwerveModuleState commanded = new SwerveModuleState();
+    private double commandedDegrees = 0.0;
+
+    /** The module reaches whatever it's commanded instantly, don't modify */
+    public SwerveModuleState getCommandedState() {
+        return commanded;
+    }
+
+    @Override
+    public void setDesiredState(SwerveModuleState desiredState, boolean isOpenLoop, SwerveModuleState state) {
+        setOptimizedState(desiredState.speedMetersPerSecond, desiredState.angle.getDegrees(), isOpenLoop);
+    }
+
+    @Override
+    public void setOptimizedState(double speedMetersPerSecond, double angleDegrees, boolean isOpenLoop) {
+        setAngle(speedMetersPerSecond, angleDegrees);
+        commanded.speedMetersPerSecond = speedMetersPerSecond;
+    }
+
+    @Override
+    public void setSpeed(SwerveModuleState desiredState, boolean isOpenLoop) {
+        commanded.speedMetersPerSecond = desiredState.speedMetersPerSecond;
+    }
+
+    @Override
+    public void setAngle(SwerveModuleState desiredState) {
+        setAngle(desiredState.speedMetersPerSecond, desiredState.angle.getDegrees());
+    }
+
+    private void setAngle(double speedMetersPerSecond, double angleDegrees) {
+        // same as the Falcon module, it doesn't turn below 1% speed
+        if (Math.abs(speedMetersPerSecond) > Constants.SWERVE.MAX_SPEED * 0.01 && angleDegrees != commandedDegrees) {
+            commandedDegrees = angleDegrees;
+            commanded.angle = Rotation2d.fromDegrees(angleDegrees);
+        }
+    }
+}
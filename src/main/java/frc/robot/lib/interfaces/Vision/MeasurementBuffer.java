@@ -0,0 +1,68 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Vision;
+
+/**
+ * Collects measurements for one VisionIO update and copies them into the inputs, reusing the
+ * inputs' arrays when the count hasn't changed since the last update.
+ */
+class MeasurementBuffer {
+    private final double[] timestamps;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final double[] theta;
+    private final double[] tagCounts;
+    private final double[] distances;
+    private int count = 0;
+
+    MeasurementBuffer(int capacity) {
+        timestamps = new double[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        z = new double[capacity];
+        theta = new double[capacity];
+        tagCounts = new double[capacity];
+        distances = new double[capacity];
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    /** @return false when full and the measurement was dropped */
+    boolean add(double timestamp, double poseX, double poseY, double poseZ, double poseTheta, int tags, double averageDistance) {
+        if (count == timestamps.length) {
+            return false;
+        }
+        timestamps[count] = timestamp;
+        x[count] = poseX;
+        y[count] = poseY;
+        z[count] = poseZ;
+        theta[count] = poseTheta;
+        tagCounts[count] = tags;
+        distances[count] = averageDistance;
+        count++;
+        return true;
+    }
+
+    void writeTo(VisionIO.VisionIOInputs inputs) {
+        inputs.timestamps = copy(timestamps, inputs.timestamps);
+        inputs.x = copy(x, inputs.x);
+        inputs.y = copy(y, inputs.y);
+        inputs.z = copy(z, inputs.z);
+        inputs.theta = copy(theta, inputs.theta);
+        inputs.tagCounts = copy(tagCounts, inputs.tagCounts);
+        inputs.averageTagDistances = copy(distances, inputs.averageTagDistances);
+    }
+
+    private double[] copy(double[] from, double[] into) {
+        if (into.length != count) {
+            into = new double[count];
+        }
+        System.arraycopy(from, 0, into, 0, count);
+        return into;
+    }
+}
@@ -0,0 +1,116 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Vision;
+
+import org.littletonrobotics.junction.Logger;
+
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.Nat;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.lib.util.PoseHistory;
+import frc.robot.lib.vision.OdometryGate;
+import frc.robot.lib.vision.VisionPoseModel;
+
+/**
+ * PhotonVision cameras, or simulated ones, feeding the swerve pose estimator. Measurements go
+ * through the same field, distance and odometry checks as the Limelights, and get the same
+ * standard deviations, from VisionPoseModel and an OdometryGate.
+ */
+public class Vision {
+    private final String[] names;
+    private final VisionIO[] io;
+    private final VisionIOInputsAutoLogged[] inputs;
+    private final String[] inputKeys;
+    private final String[] latencyKeys;
+    private final String[] countKeys;
+    private final String[] rejectedKeys;
+    private final long[] rejected;
+    private final OdometryGate odometryGate;
+
+    // reused for every measurement, the estimator copies the values
+    private final Matrix<N3, N1> stdDevs = new Matrix<>(Nat.N3(), Nat.N1());
+
+    public Vision(String[] names, VisionIO[] io) {
+        this.names = names;
+        this.io = io;
+        inputs = new VisionIOInputsAutoLogged[io.length];
+        inputKeys = new String[io.length];
+        latencyKeys = new String[io.length];
+        countKeys = new String[io.length];
+        rejectedKeys = new String[io.length];
+        rejected = new long[io.length];
+        String[] odometryErrorKeys = new String[io.length];
+        for (int i = 0; i < io.length; i++) {
+            inputs[i] = new VisionIOInputsAutoLogged();
+            inputKeys[i] = "Vision/Photon/" + names[i];
+            latencyKeys[i] = "Vision/Photon/" + names[i] + "/LatencyMs";
+            countKeys[i] = "Vision/Photon/" + names[i] + "/Measurements";
+            rejectedKeys[i] = "Vision/Photon/" + names[i] + "/Rejected";
+            odometryErrorKeys[i] = "Vision/Photon/" + names[i] + "/OdometryErrorMeters";
+        }
+        odometryGate = new OdometryGate(odometryErrorKeys);
+    }
+
+    /** Odometry to check measurements against, null to stop checking */
+    public void setPoseHistory(PoseHistory history) {
+        odometryGate.setPoseHistory(history);
+    }
+
+    public int getCameraCount() {
+        return io.length;
+    }
+
+    public String getName(int camera) {
+        return names[camera];
+    }
+
+    public void periodic() {
+        Logger logger = Logger.getInstance();
+        double now = Timer.getFPGATimestamp();
+        for (int i = 0; i < io.length; i++) {
+            io[i].updateInputs(inputs[i]);
+            logger.processInputs(inputKeys[i], inputs[i]);
+
+            int count = inputs[i].timestamps.length;
+            logger.recordOutput(countKeys[i], count);
+            if (count > 0) {
+                // capture to the robot loop using it
+                logger.recordOutput(latencyKeys[i], (now - inputs[i].timestamps[count - 1]) * 1000.0);
+            }
+        }
+    }
+
+    /** Adds everything from the last periodic that passes the checks, counting the rest */
+    public void addMeasurements(SwerveDrivePoseEstimator estimator) {
+        Logger logger = Logger.getInstance();
+        for (int i = 0; i < io.length; i++) {
+            VisionIOInputsAutoLogged camera = inputs[i];
+            for (int j = 0; j < camera.timestamps.length; j++) {
+                double distance = camera.averageTagDistances[j];
+                int tags = Math.max(1, (int) camera.tagCounts[j]);
+                if (!VisionPoseModel.isOnField(camera.x[j], camera.y[j], camera.z[j])
+                        || VisionPoseModel.isTooFar(distance, tags)
+                        || !odometryGate.agrees(i, camera.timestamps[j], camera.x[j], camera.y[j], tags)) {
+                    rejected[i]++;
+                    continue;
+                }
+                double xy = VisionPoseModel.stdDevXY(distance, tags);
+                stdDevs.set(0, 0, xy);
+                stdDevs.set(1, 0, xy);
+                stdDevs.set(2, 0, VisionPoseModel.stdDevTheta(distance, tags));
+                estimator.addVisionMeasurement(
+                    new Pose2d(camera.x[j], camera.y[j], new Rotation2d(camera.theta[j])),
+                    camera.timestamps[j],
+                    stdDevs);
+            }
+            logger.recordOutput(rejectedKeys[i], rejected[i]);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Vision;
+
+import org.littletonrobotics.junction.AutoLog;
+
+/** One camera's robot pose measurements, everything since the last update, oldest first */
+public interface VisionIO {
+    @AutoLog
+    public static class VisionIOInputs {
+        public boolean connected;
+        // FPGA seconds each image was captured
+        public double[] timestamps = new double[0];
+        // field relative robot pose, blue origin, theta in radians
+        public double[] x = new double[0];
+        public double[] y = new double[0];
+        public double[] z = new double[0];
+        public double[] theta = new double[0];
+        public double[] tagCounts = new double[0];
+        public double[] averageTagDistances = new double[0];
+    }
+
+    public default void updateInputs(VisionIOInputs inputs) {}
+}
@@ -0,0 +1,97 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Vision;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.photonvision.PhotonCamera;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import frc.robot.Constants;
+
+/**
+ * A PhotonVision camera. The coprocessor solves each tag's camera-to-target transform, and the
+ * robot pose from each tag is one transform through the field layout, so nothing here runs a
+ * PnP solve on the RIO. With several tags in view the per-tag poses are averaged, weighted by
+ * one over distance squared. Single tags with a high pose ambiguity are dropped.
+ *
+ * <p>photonlib 2023 only exposes the latest result, so results are deduplicated by timestamp
+ * and at most one measurement comes out per update.
+ */
+public class VisionIOPhoton implements VisionIO {
+    private final PhotonCamera camera;
+    private final Transform3d cameraToRobot;
+    private final AprilTagFieldLayout layout;
+    private final MeasurementBuffer measurements = new MeasurementBuffer(1);
+    private double lastTimestamp = -1.0;
+
+    public VisionIOPhoton(String cameraName, Transform3d robotToCamera, AprilTagFieldLayout layout) {
+        camera = new PhotonCamera(cameraName);
+        cameraToRobot = robotToCamera.inverse();
+        this.layout = layout;
+    }
+
+    @Override
+    public void updateInputs(VisionIOInputs inputs) {
+        inputs.connected = camera.isConnected();
+        measurements.clear();
+
+        PhotonPipelineResult result = camera.getLatestResult();
+        double timestamp = result.getTimestampSeconds();
+        if (timestamp != lastTimestamp && result.hasTargets() && layout != null) {
+            lastTimestamp = timestamp;
+            addResult(timestamp, result.getTargets());
+        }
+        measurements.writeTo(inputs);
+    }
+
+    private void addResult(double timestamp, List<PhotonTrackedTarget> targets) {
+        double weightSum = 0.0;
+        double xSum = 0.0;
+        double ySum = 0.0;
+        double zSum = 0.0;
+        double sinSum = 0.0;
+        double cosSum = 0.0;
+        double distanceSum = 0.0;
+        int tags = 0;
+
+        for (int i = 0; i < targets.size(); i++) {
+            PhotonTrackedTarget target = targets.get(i);
+            Optional<Pose3d> tagPose = layout.getTagPose(target.getFiducialId());
+            if (tagPose.isEmpty()) {
+                continue;
+            }
+            if (targets.size() == 1 && target.getPoseAmbiguity() > Constants.PhotonConstants.MAX_SINGLE_TAG_AMBIGUITY) {
+                return;
+            }
+            Transform3d cameraToTarget = target.getBestCameraToTarget();
+            Pose3d robotPose = tagPose.get()
+                .transformBy(cameraToTarget.inverse())
+                .transformBy(cameraToRobot);
+
+            double distance = cameraToTarget.getTranslation().getNorm();
+            double weight = 1.0 / Math.max(distance * distance, 1.0e-6);
+            double theta = robotPose.getRotation().getZ();
+            xSum += robotPose.getX() * weight;
+            ySum += robotPose.getY() * weight;
+            zSum += robotPose.getZ() * weight;
+            sinSum += Math.sin(theta) * weight;
+            cosSum += Math.cos(theta) * weight;
+            weightSum += weight;
+            distanceSum += distance;
+            tags++;
+        }
+        if (tags == 0) {
+            return;
+        }
+        measurements.add(timestamp, xSum / weightSum, ySum / weightSum, zSum / weightSum,
+            Math.atan2(sinSum, cosSum), tags, distanceSum / tags);
+    }
+}
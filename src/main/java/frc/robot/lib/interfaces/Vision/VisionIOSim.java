@@ -0,0 +1,107 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Vision;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import edu.wpi.first.apriltag.AprilTag;
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.Constants;
+
+/**
+ * A camera that sees the AprilTags in the field layout from wherever the supplied pose says the
+ * robot is. Frames come at a fixed rate and are delivered a fixed latency after capture. Each
+ * frame sees the tags in front of the camera, facing it, inside its field of view and range, and
+ * reports the true pose plus noise that grows with distance squared over the tag count. Runs on a
+ * desktop with no hardware to exercise vision throughput and latency through the pose estimator.
+ */
+public class VisionIOSim implements VisionIO {
+    private final Supplier<Pose2d> truePose;
+    private final Transform3d robotToCamera;
+    private final List<AprilTag> tags;
+    private final double framePeriod;
+    private final double latencySeconds;
+    private final Random random = new Random(364);
+    private final MeasurementBuffer measurements;
+
+    private double nextCapture = Double.NaN;
+
+    public VisionIOSim(Supplier<Pose2d> truePose, Transform3d robotToCamera, AprilTagFieldLayout layout) {
+        this.truePose = truePose;
+        this.robotToCamera = robotToCamera;
+        this.tags = layout == null ? List.of() : layout.getTags();
+        framePeriod = 1.0 / Constants.PhotonConstants.SIM_FRAMES_PER_SECOND;
+        latencySeconds = Constants.PhotonConstants.SIM_LATENCY_SECONDS;
+        // enough for the frames in a few slow loops
+        measurements = new MeasurementBuffer((int) Math.ceil(Constants.PhotonConstants.SIM_FRAMES_PER_SECOND * 0.1) + 1);
+    }
+
+    @Override
+    public void updateInputs(VisionIOInputs inputs) {
+        inputs.connected = true;
+        measurements.clear();
+
+        double now = Timer.getFPGATimestamp();
+        // first update, or the simulation was paused
+        if (Double.isNaN(nextCapture) || now - nextCapture > 1.0) {
+            nextCapture = now;
+        }
+        // the robot barely moves within one loop, so every frame uses the current pose
+        Pose3d cameraPose = null;
+        while (nextCapture + latencySeconds <= now) {
+            if (cameraPose == null) {
+                cameraPose = new Pose3d(truePose.get()).transformBy(robotToCamera);
+            }
+            capture(nextCapture, cameraPose);
+            nextCapture += framePeriod;
+        }
+        measurements.writeTo(inputs);
+    }
+
+    private void capture(double timestamp, Pose3d cameraPose) {
+        double halfHorizontal = Math.toRadians(Constants.PhotonConstants.SIM_HORIZONTAL_FOV_DEGREES) / 2.0;
+        double halfVertical = Math.toRadians(Constants.PhotonConstants.SIM_VERTICAL_FOV_DEGREES) / 2.0;
+        int seen = 0;
+        double distanceSum = 0.0;
+
+        for (int i = 0; i < tags.size(); i++) {
+            Pose3d tagPose = tags.get(i).pose;
+            Pose3d inCamera = tagPose.relativeTo(cameraPose);
+            double distance = inCamera.getTranslation().getNorm();
+            if (inCamera.getX() <= 0.0 || distance > Constants.PhotonConstants.SIM_MAX_DISTANCE_METERS
+                    || Math.abs(Math.atan2(inCamera.getY(), inCamera.getX())) > halfHorizontal
+                    || Math.abs(Math.atan2(inCamera.getZ(), inCamera.getX())) > halfVertical) {
+                continue;
+            }
+            // tags face along their +X, the camera has to be on that side
+            if (cameraPose.relativeTo(tagPose).getX() <= 0.0) {
+                continue;
+            }
+            seen++;
+            distanceSum += distance;
+        }
+        if (seen == 0) {
+            return;
+        }
+
+        double distance = distanceSum / seen;
+        double scale = distance * distance / seen;
+        double xyNoise = Constants.PhotonConstants.SIM_XY_NOISE_PER_METER_SQUARED * scale;
+        double thetaNoise = Constants.PhotonConstants.SIM_THETA_NOISE_PER_METER_SQUARED * scale;
+        Pose2d pose = truePose.get();
+        measurements.add(timestamp,
+            pose.getX() + random.nextGaussian() * xyNoise,
+            pose.getY() + random.nextGaussian() * xyNoise,
+            0.0,
+            pose.getRotation().getRadians() + random.nextGaussian() * thetaNoise,
+            seen, distance);
+    }
+}
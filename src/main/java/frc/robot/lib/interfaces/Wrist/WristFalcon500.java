@@ -8,12 +8,23 @@ import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.TalonFXControlMode;
 import com.ctre.phoenix.motorcontrol.can.TalonFX;
 
+import frc.robot.Constants;
+import frc.robot.RobotMap;
+import frc.robot.lib.can.CANSignal;
+import frc.robot.lib.util.WriteOnChange;
+
 /** Add your docs here. */
 public class WristFalcon500 implements WristIO{
     public TalonFX wristMotor;
+    private final WriteOnChange output;
 
     public WristFalcon500(int WristMotorID){
         wristMotor = new TalonFX(WristMotorID);
+        output = new WriteOnChange("Wrist " + WristMotorID, Constants.OUTPUTS.MOTOR_KEEP_ALIVE_SECONDS);
+        RobotMap.canBudget.talonFX(Constants.CAN.RIO_BUS, "Wrist " + WristMotorID, wristMotor)
+            .consume(CANSignal.TALON_SENSOR_POSITION, Constants.CAN.CONTROL_RATE_HZ)
+            .consume(CANSignal.TALON_SENSOR_VELOCITY, Constants.CAN.CONTROL_RATE_HZ)
+            .consume(CANSignal.TALON_OUTPUT_PERCENT, Constants.CAN.TELEMETRY_RATE_HZ);
     }
 
     public void updateInputs(WristIOInputs input){
@@ -23,11 +34,15 @@ public class WristFalcon500 implements WristIO{
     }
 
     public void setMotorPositionOutput(double position){
-        wristMotor.set(TalonFXControlMode.Position, position);
+        if (output.shouldWrite(ControlMode.Position.value, position, Constants.OUTPUTS.POSITION_TOLERANCE_TICKS)) {
+            wristMotor.set(TalonFXControlMode.Position, position);
+        }
     }
 
     public void setMotorPercentOutput(double output){
-        wristMotor.set(ControlMode.PercentOutput, output);
+        if (this.output.shouldWrite(ControlMode.PercentOutput.value, output, Constants.OUTPUTS.PERCENT_TOLERANCE)) {
+            wristMotor.set(ControlMode.PercentOutput, output);
+        }
     }
 
     public void resetEncoder(){
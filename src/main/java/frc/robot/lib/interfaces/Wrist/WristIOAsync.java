@@ -0,0 +1,48 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.interfaces.Wrist;
+
+import frc.robot.lib.scheduling.AsyncInputSampler;
+import frc.robot.lib.util.InputBuffer;
+
+/**
+ * Wraps a WristIO so its inputs are read on the sampler thread. updateInputs only copies the
+ * latest sample into the logged inputs, outputs go straight through to the wrapped IO.
+ */
+public class WristIOAsync implements WristIO {
+    private final WristIO io;
+    private final InputBuffer<WristIOInputs> buffer;
+
+    /** @param name identifies this IO's sample age in the log */
+    public WristIOAsync(String name, WristIO io, AsyncInputSampler sampler) {
+        this.io = io;
+        buffer = new InputBuffer<>(name, WristIOInputs::new);
+        sampler.register(this::sample);
+    }
+
+    private void sample() {
+        io.updateInputs(buffer.back());
+        buffer.publish();
+    }
+
+    public void updateInputs(WristIOInputs inputs) {
+        WristIOInputs latest = buffer.latest();
+        inputs.WristPosition = latest.WristPosition;
+        inputs.WristVelocity = latest.WristVelocity;
+        inputs.WristOutput = latest.WristOutput;
+    }
+
+    public void setMotorPositionOutput(double position) {
+        io.setMotorPositionOutput(position);
+    }
+
+    public void setMotorPercentOutput(double output) {
+        io.setMotorPercentOutput(output);
+    }
+
+    public void resetEncoder() {
+        io.resetEncoder();
+    }
+}
@@ -0,0 +1,263 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal for rare events like mode changes and crashes. append copies a
+ * record into a preallocated ring buffer and returns, a daemon thread writes the buffer to disk
+ * every flush period, and flush writes and fsyncs on the calling thread for when the process
+ * may be about to die. When the ring is full new records are dropped and counted, callers are
+ * never blocked on the file. appendSync is for records that must not be dropped, it writes
+ * through to the file on the calling thread.
+ *
+ * <p>Each run starts a new file, the previous ones are shifted to name.1.bin, name.2.bin and so
+ * on, and the current file is rotated the same way when it reaches the size cap. Read them with
+ * JournalReader.
+ *
+ * <p>File layout, big-endian: a header of MAGIC, VERSION, the run UUID and the start time, then
+ * records of [int length][byte type][long epoch millis][UTF-8 text][int CRC32], where length
+ * counts everything after itself and the CRC covers type, time and text.
+ */
+public class Journal {
+    public static final int MAGIC = 0x4A524E4C; // "JRNL"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8;
+    // length, type, time and CRC around the text
+    public static final int RECORD_OVERHEAD_BYTES = 4 + 1 + 8 + 4;
+    // no journal writes longer text than this whatever it's configured with, so the reader can
+    // tell a torn length from a real one
+    public static final int TEXT_BYTES_LIMIT = 1024 * 1024;
+
+    public static final byte TYPE_MARKER = 1;
+    public static final byte TYPE_CRASH = 2;
+
+    private final Path directory;
+    private final String name;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final int maxTextBytes;
+    private final long flushPeriodNanos;
+    private final UUID runId = UUID.randomUUID();
+
+    // ring of encoded records, head and tail only ever grow
+    private final byte[] ring;
+    private long head = 0;
+    private long tail = 0;
+    private long dropped = 0;
+    private final CRC32 crc = new CRC32();
+
+    // only touched while holding fileLock
+    private final Object fileLock = new Object();
+    private final ByteBuffer flushBuffer;
+    private FileChannel channel = null;
+    private long fileBytes = 0;
+    private boolean failed = false;
+
+    private Thread flusher = null;
+
+    public Journal(Path directory, String name, int bufferBytes, long maxFileBytes, int maxFiles,
+            int maxTextBytes, double flushPeriodSeconds) {
+        this.directory = directory;
+        this.name = name;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.maxTextBytes = Math.min(maxTextBytes, TEXT_BYTES_LIMIT);
+        this.flushPeriodNanos = (long) (flushPeriodSeconds * 1.0e9);
+        ring = new byte[bufferBytes];
+        flushBuffer = ByteBuffer.allocate(bufferBytes);
+    }
+
+    /** Starts the flusher thread and a shutdown hook that flushes what's left */
+    public synchronized void start() {
+        if (flusher != null) {
+            return;
+        }
+        flusher = new Thread(this::flushLoop, "Journal " + name);
+        flusher.setDaemon(true);
+        flusher.setPriority(Thread.MIN_PRIORITY);
+        flusher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "Journal " + name + " shutdown"));
+    }
+
+    public UUID getRunId() {
+        return runId;
+    }
+
+    /** @return records dropped because the ring was full */
+    public long getDropped() {
+        synchronized (ring) {
+            return dropped;
+        }
+    }
+
+    /** @return false if the record didn't fit in the ring and was dropped */
+    public boolean append(byte type, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int textLength = Math.min(bytes.length, maxTextBytes);
+        int recordBytes = RECORD_OVERHEAD_BYTES + textLength;
+        long time = System.currentTimeMillis();
+
+        synchronized (ring) {
+            if (head - tail + recordBytes > ring.length) {
+                dropped++;
+                return false;
+            }
+            crc.reset();
+            crc.update(type);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                crc.update((int) (time >>> shift));
+            }
+            crc.update(bytes, 0, textLength);
+
+            putInt(recordBytes - 4);
+            putByte(type);
+            putLong(time);
+            for (int i = 0; i < textLength; i++) {
+                putByte(bytes[i]);
+            }
+            putInt((int) crc.getValue());
+        }
+        return true;
+    }
+
+    /** Writes everything buffered and fsyncs, on the calling thread */
+    public void flush() {
+        synchronized (fileLock) {
+            drain(true);
+        }
+    }
+
+    /**
+     * Writes a record straight to disk and fsyncs, on the calling thread, for the records that
+     * can't be lost. Whatever is buffered goes out first, so the ring has room and records stay
+     * in order.
+     *
+     * @return false if the record couldn't be written, when it's bigger than the ring or the
+     *     file failed
+     */
+    public boolean appendSync(byte type, String text) {
+        synchronized (fileLock) {
+            drain(false);
+            boolean appended = append(type, text);
+            drain(true);
+            return appended && !failed;
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            LockSupport.parkNanos(flushPeriodNanos);
+            synchronized (fileLock) {
+                drain(false);
+            }
+        }
+    }
+
+    // caller holds fileLock
+    private void drain(boolean sync) {
+        flushBuffer.clear();
+        synchronized (ring) {
+            int capacity = ring.length;
+            for (long i = tail; i < head; i++) {
+                flushBuffer.put(ring[(int) (i % capacity)]);
+            }
+            tail = head;
+        }
+        flushBuffer.flip();
+        if (failed || (!flushBuffer.hasRemaining() && !sync)) {
+            return;
+        }
+
+        try {
+            if (channel == null) {
+                open();
+            } else if (fileBytes + flushBuffer.remaining() > maxFileBytes) {
+                channel.close();
+                channel = null;
+                open();
+            }
+            while (flushBuffer.hasRemaining()) {
+                fileBytes += channel.write(flushBuffer);
+            }
+            if (sync) {
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            // the journal is best effort, give up on it rather than retry every flush
+            failed = true;
+            System.err.println("Journal " + name + " disabled: " + e);
+        }
+    }
+
+    // shifts the existing files up by one and starts a fresh one with a header
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path from = fileFor(i - 1);
+            if (Files.exists(from)) {
+                Files.move(from, fileFor(i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        channel = FileChannel.open(fileFor(0), StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putLong(runId.getMostSignificantBits());
+        header.putLong(runId.getLeastSignificantBits());
+        header.putLong(System.currentTimeMillis());
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        fileBytes = HEADER_BYTES;
+    }
+
+    private Path fileFor(int index) {
+        return directory.resolve(index == 0 ? name + ".bin" : name + "." + index + ".bin");
+    }
+
+    /** @return the journal directory to use, the first of the candidates that exists */
+    public static Path pickDirectory(String... candidates) {
+        for (String candidate : candidates) {
+            if (new File(candidate).isDirectory()) {
+                return Path.of(candidate);
+            }
+        }
+        return Path.of(candidates[candidates.length - 1]);
+    }
+
+    // caller holds the ring lock
+    private void putByte(int value) {
+        ring[(int) (head % ring.length)] = (byte) value;
+        head++;
+    }
+
+    private void putInt(int value) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            putByte(value >>> shift);
+        }
+    }
+
+    private void putLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            putByte((int) (value >>> shift));
+        }
+    }
+}
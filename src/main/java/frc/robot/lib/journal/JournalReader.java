@@ -0,0 +1,146 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.journal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Decodes journal files written by Journal. Reading stops at the first record that's cut short
+ * or fails its CRC, which is where the robot lost power or the process died mid-write.
+ *
+ * <p>Run with ./gradlew readJournal -PjournalFile=path/to/crash_journal.bin after copying the
+ * files off the RIO, or pass several paths straight to main.
+ */
+public class JournalReader {
+
+    public static class Record {
+        public final byte type;
+        public final long epochMillis;
+        public final String text;
+
+        Record(byte type, long epochMillis, String text) {
+            this.type = type;
+            this.epochMillis = epochMillis;
+            this.text = text;
+        }
+
+        public String typeName() {
+            switch (type) {
+                case Journal.TYPE_MARKER:
+                    return "marker";
+                case Journal.TYPE_CRASH:
+                    return "CRASH";
+                default:
+                    return "type " + type;
+            }
+        }
+    }
+
+    public final UUID runId;
+    public final long startEpochMillis;
+    public final List<Record> records = new ArrayList<>();
+    // null when the whole file read cleanly
+    public String truncatedReason = null;
+
+    private JournalReader(UUID runId, long startEpochMillis) {
+        this.runId = runId;
+        this.startEpochMillis = startEpochMillis;
+    }
+
+    public static JournalReader read(InputStream stream) throws IOException {
+        return read(stream, Long.MAX_VALUE);
+    }
+
+    /** @param sizeBytes the whole file's size, a record longer than what's left is corrupt */
+    private static JournalReader read(InputStream stream, long sizeBytes) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != Journal.MAGIC) {
+            throw new IOException("Not a journal file");
+        }
+        int version = in.readInt();
+        if (version != Journal.VERSION) {
+            throw new IOException("Unsupported journal version " + version);
+        }
+        JournalReader journal = new JournalReader(new UUID(in.readLong(), in.readLong()), in.readLong());
+
+        long remaining = sizeBytes - Journal.HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        while (true) {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return journal;
+            }
+            remaining -= 4;
+            int textLength = length - (Journal.RECORD_OVERHEAD_BYTES - 4);
+            // a torn or corrupt length, don't try to allocate it
+            if (textLength < 0 || textLength > Journal.TEXT_BYTES_LIMIT || length > remaining) {
+                journal.truncatedReason = "bad record length " + length + " after " + journal.records.size() + " records";
+                return journal;
+            }
+            remaining -= length;
+
+            try {
+                byte type = in.readByte();
+                long time = in.readLong();
+                byte[] text = new byte[textLength];
+                in.readFully(text);
+                int expected = in.readInt();
+
+                crc.reset();
+                crc.update(type);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    crc.update((int) (time >>> shift));
+                }
+                crc.update(text);
+                if ((int) crc.getValue() != expected) {
+                    journal.truncatedReason = "CRC mismatch after " + journal.records.size() + " records";
+                    return journal;
+                }
+                journal.records.add(new Record(type, time, new String(text, StandardCharsets.UTF_8)));
+            } catch (EOFException e) {
+                journal.truncatedReason = "last record cut short after " + journal.records.size() + " records";
+                return journal;
+            }
+        }
+    }
+
+    public static JournalReader read(Path file) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            return read(stream, Files.size(file));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: JournalReader <journal file>...");
+            System.exit(1);
+        }
+        for (String arg : args) {
+            JournalReader journal = read(Path.of(arg));
+            System.out.println(arg + ": run " + journal.runId + ", started " + new Date(journal.startEpochMillis));
+            for (Record record : journal.records) {
+                System.out.println(new Date(record.epochMillis) + "  " + record.typeName() + "  " + record.text);
+            }
+            if (journal.truncatedReason != null) {
+                System.out.println("(stopped early: " + journal.truncatedReason + ")");
+            }
+            System.out.println();
+        }
+    }
+}
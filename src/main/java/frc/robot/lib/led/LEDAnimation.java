@@ -0,0 +1,99 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.led;
+
+/**
+ * A fixed set of frames for an LED strip, built once up front so nothing is computed per loop.
+ * Pixels are packed 0xRRGGBB ints, and TRANSPARENT lets the layers underneath show through.
+ * Frames are picked either by elapsed time or directly by index (bar graphs and the like).
+ */
+public class LEDAnimation {
+    public static final int TRANSPARENT = -1;
+    public static final int OFF = 0;
+
+    private final int[][] frames;
+    private final long framePeriodMicros;
+
+    /** @param framePeriodSeconds time each frame is shown for, 0 for frames picked by index */
+    public LEDAnimation(int[][] frames, double framePeriodSeconds) {
+        if (frames.length == 0) {
+            throw new IllegalArgumentException("An animation needs at least one frame");
+        }
+        for (int[] frame : frames) {
+            if (frame.length != frames[0].length) {
+                throw new IllegalArgumentException("Every frame has to cover the same number of LEDs");
+            }
+        }
+        this.frames = frames;
+        this.framePeriodMicros = (long) (framePeriodSeconds * 1.0e6);
+    }
+
+    public static int rgb(int r, int g, int b) {
+        return ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF);
+    }
+
+    public static int red(int color) {
+        return (color >> 16) & 0xFF;
+    }
+
+    public static int green(int color) {
+        return (color >> 8) & 0xFF;
+    }
+
+    public static int blue(int color) {
+        return color & 0xFF;
+    }
+
+    /** One color over the whole strip */
+    public static LEDAnimation solid(int ledCount, int color) {
+        return new LEDAnimation(new int[][] {fill(ledCount, color)}, 0.0);
+    }
+
+    /** Alternates between two colors, each shown for half the period */
+    public static LEDAnimation blink(int ledCount, int onColor, int offColor, double periodSeconds) {
+        return new LEDAnimation(new int[][] {fill(ledCount, onColor), fill(ledCount, offColor)}, periodSeconds / 2.0);
+    }
+
+    /** ledCount + 1 frames, frame n has the first n LEDs lit and the rest transparent */
+    public static LEDAnimation bar(int ledCount, int color) {
+        int[][] frames = new int[ledCount + 1][];
+        for (int lit = 0; lit <= ledCount; lit++) {
+            frames[lit] = fill(ledCount, TRANSPARENT);
+            for (int i = 0; i < lit; i++) {
+                frames[lit][i] = color;
+            }
+        }
+        return new LEDAnimation(frames, 0.0);
+    }
+
+    public int getLedCount() {
+        return frames[0].length;
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    /** @return the frame at an index, clamped to the ends */
+    public int[] frame(int index) {
+        return frames[Math.max(0, Math.min(index, frames.length - 1))];
+    }
+
+    /** @return the frame to show a given time after the animation started, looping */
+    public int[] frameAt(long elapsedMicros) {
+        if (framePeriodMicros <= 0 || frames.length == 1) {
+            return frames[0];
+        }
+        return frames[(int) ((elapsedMicros / framePeriodMicros) % frames.length)];
+    }
+
+    private static int[] fill(int ledCount, int color) {
+        int[] frame = new int[ledCount];
+        for (int i = 0; i < ledCount; i++) {
+            frame[i] = color;
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,171 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.led;
+
+/**
+ * Keeps a framebuffer for an LED strip built from stacked layers, and writes only what changed.
+ * Layers are the values of an enum, later values drawn over earlier ones. Each update composes
+ * the layers' current frames, compares the result with what the strip was last sent, and writes
+ * the changed pixels as runs of one color. Updates are capped to one per minimum period and a
+ * fixed number of segments, anything left over goes out on the next update. Everything is sent
+ * again every keep-alive period in case the controller lost it.
+ */
+public class LEDCompositor<E extends Enum<E>> {
+    /** Where segments go, normally CANdle.setLEDs */
+    public interface SegmentWriter {
+        void write(int r, int g, int b, int startIndex, int count);
+    }
+
+    // never a real color, so every pixel compares as changed
+    private static final int UNSENT = -2;
+    private static final int BY_TIME = -1;
+
+    private final int ledCount;
+    private final SegmentWriter writer;
+    private final long minPeriodMicros;
+    private final int maxSegmentsPerUpdate;
+    private final long keepAliveMicros;
+
+    private final LEDAnimation[] animations;
+    private final int[] frameIndexes;
+    private final long[] startMicros;
+
+    private final int[] composed;
+    private final int[] sent;
+
+    private boolean hasUpdated = false;
+    private long lastUpdateMicros = 0;
+    private long lastKeepAliveMicros = 0;
+    private long segmentsWritten = 0;
+
+    public LEDCompositor(E[] layers, int ledCount, SegmentWriter writer,
+            double minPeriodSeconds, int maxSegmentsPerUpdate, double keepAliveSeconds) {
+        this.ledCount = ledCount;
+        this.writer = writer;
+        this.minPeriodMicros = (long) (minPeriodSeconds * 1.0e6);
+        this.maxSegmentsPerUpdate = maxSegmentsPerUpdate;
+        this.keepAliveMicros = (long) (keepAliveSeconds * 1.0e6);
+
+        animations = new LEDAnimation[layers.length];
+        frameIndexes = new int[layers.length];
+        startMicros = new long[layers.length];
+
+        composed = new int[ledCount];
+        sent = new int[ledCount];
+        invalidate();
+    }
+
+    /** Plays an animation on a layer by time, restarting it only if it's a different animation */
+    public void set(E layer, LEDAnimation animation, long nowMicros) {
+        int slot = layer.ordinal();
+        if (animations[slot] == animation && frameIndexes[slot] == BY_TIME) {
+            return;
+        }
+        checkLength(animation);
+        animations[slot] = animation;
+        frameIndexes[slot] = BY_TIME;
+        startMicros[slot] = nowMicros;
+    }
+
+    /** Shows one frame of an animation on a layer until told otherwise */
+    public void setFrame(E layer, LEDAnimation animation, int frameIndex) {
+        int slot = layer.ordinal();
+        if (animations[slot] != animation) {
+            checkLength(animation);
+            animations[slot] = animation;
+        }
+        frameIndexes[slot] = Math.max(0, Math.min(frameIndex, animation.getFrameCount() - 1));
+    }
+
+    public void clear(E layer) {
+        animations[layer.ordinal()] = null;
+    }
+
+    public boolean isSet(E layer) {
+        return animations[layer.ordinal()] != null;
+    }
+
+    /** Forgets what the strip was sent, for when something else has drawn on it */
+    public void invalidate() {
+        for (int i = 0; i < ledCount; i++) {
+            sent[i] = UNSENT;
+        }
+    }
+
+    /** @return the number of segments written, 0 if the update was skipped or nothing changed */
+    public int update(long nowMicros) {
+        if (hasUpdated && nowMicros - lastUpdateMicros < minPeriodMicros) {
+            return 0;
+        }
+        if (!hasUpdated) {
+            lastKeepAliveMicros = nowMicros;
+        }
+        hasUpdated = true;
+        lastUpdateMicros = nowMicros;
+
+        if (keepAliveMicros > 0 && nowMicros - lastKeepAliveMicros >= keepAliveMicros) {
+            lastKeepAliveMicros = nowMicros;
+            invalidate();
+        }
+
+        compose(nowMicros);
+
+        int segments = 0;
+        int i = 0;
+        while (i < ledCount && segments < maxSegmentsPerUpdate) {
+            if (composed[i] == sent[i]) {
+                i++;
+                continue;
+            }
+            // run over every pixel of the same color, changed or not, to keep segments few
+            int color = composed[i];
+            int start = i;
+            while (i < ledCount && composed[i] == color) {
+                sent[i] = color;
+                i++;
+            }
+            writer.write(LEDAnimation.red(color), LEDAnimation.green(color), LEDAnimation.blue(color), start, i - start);
+            segments++;
+        }
+        segmentsWritten += segments;
+        return segments;
+    }
+
+    /** @return the composed color of one LED as of the last update */
+    public int getPixel(int index) {
+        return composed[index];
+    }
+
+    public long getSegmentsWritten() {
+        return segmentsWritten;
+    }
+
+    private void compose(long nowMicros) {
+        for (int i = 0; i < ledCount; i++) {
+            composed[i] = LEDAnimation.OFF;
+        }
+        for (int slot = 0; slot < animations.length; slot++) {
+            LEDAnimation animation = animations[slot];
+            if (animation == null) {
+                continue;
+            }
+            int[] frame = frameIndexes[slot] == BY_TIME
+                ? animation.frameAt(nowMicros - startMicros[slot])
+                : animation.frame(frameIndexes[slot]);
+            for (int i = 0; i < ledCount; i++) {
+                if (frame[i] != LEDAnimation.TRANSPARENT) {
+                    composed[i] = frame[i];
+                }
+            }
+        }
+    }
+
+    private void checkLength(LEDAnimation animation) {
+        if (animation.getLedCount() != ledCount) {
+            throw new IllegalArgumentException(
+                "Animation covers " + animation.getLedCount() + " LEDs, the strip has " + ledCount);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.log;
+
+import java.util.IllegalFormatException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Console output that never blocks the caller. Each place that prints owns a Site with a level
+ * and a minimum interval between messages. Logging checks the level and the interval, then puts
+ * the unformatted message on a bounded lock-free queue. A daemon thread formats and prints
+ * everything queued, so string formatting and console I/O never happen on the robot loop. When
+ * the queue is full messages are dropped and counted, and a site's rate-limited messages are
+ * counted and reported with its next message.
+ */
+public class ConsoleLog {
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    private static volatile Level level = Level.INFO;
+
+    // Vyukov bounded queue, any thread offers, only the writer thread polls
+    private static final int CAPACITY = 256;
+    private static final int MASK = CAPACITY - 1;
+    private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private static final Site[] sites = new Site[CAPACITY];
+    private static final String[] formats = new String[CAPACITY];
+    private static final Object[][] arguments = new Object[CAPACITY][];
+    private static final long[] suppressedCounts = new long[CAPACITY];
+    private static final AtomicLong tail = new AtomicLong();
+    private static long head = 0;
+
+    private static final AtomicLong dropped = new AtomicLong();
+    private static long reportedDropped = 0;
+
+    private static final long WRITER_PERIOD_NANOS = 20_000_000L;
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+        Thread writer = new Thread(ConsoleLog::writeLoop, "ConsoleLog");
+        writer.setDaemon(true);
+        writer.setPriority(Thread.MIN_PRIORITY);
+        writer.start();
+    }
+
+    /** Changes which messages get through, takes effect on the next call from any thread */
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    /** @return messages dropped because the queue was full */
+    public static long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @param name shown in front of every message from this site
+     * @param minIntervalSeconds messages closer together than this are counted but not printed, 0 for no limit
+     */
+    public static Site site(String name, Level siteLevel, double minIntervalSeconds) {
+        return new Site(name, siteLevel, minIntervalSeconds);
+    }
+
+    /** One place in the code that prints, with its own level and rate limit */
+    public static class Site {
+        private final String prefix;
+        private final Level siteLevel;
+        private final long minIntervalNanos;
+        private final AtomicLong lastNanos = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Site(String name, Level siteLevel, double minIntervalSeconds) {
+            this.prefix = "[" + siteLevel + "] " + name + ": ";
+            this.siteLevel = siteLevel;
+            this.minIntervalNanos = (long) (minIntervalSeconds * 1.0e9);
+        }
+
+        /** @return false when the current level would drop this site's messages, to skip building them */
+        public boolean isEnabled() {
+            return siteLevel.ordinal() >= level.ordinal();
+        }
+
+        public void log(String message) {
+            log(message, NO_ARGUMENTS);
+        }
+
+        /** Formats with String.format on the writer thread, so pass raw values rather than strings */
+        public void log(String format, Object... args) {
+            if (!isEnabled()) {
+                return;
+            }
+            if (minIntervalNanos > 0) {
+                long now = System.nanoTime();
+                long last = lastNanos.get();
+                if ((last != Long.MIN_VALUE && now - last < minIntervalNanos) || !lastNanos.compareAndSet(last, now)) {
+                    suppressed.incrementAndGet();
+                    return;
+                }
+            }
+            if (!offer(this, format, args, suppressed.getAndSet(0))) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private static boolean offer(Site site, String format, Object[] args, long suppressedCount) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & MASK);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        sites[index] = site;
+        formats[index] = format;
+        arguments[index] = args;
+        suppressedCounts[index] = suppressedCount;
+        // publishes the slot to the writer
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    private static void writeLoop() {
+        StringBuilder line = new StringBuilder(256);
+        while (true) {
+            LockSupport.parkNanos(WRITER_PERIOD_NANOS);
+            while (true) {
+                int index = (int) (head & MASK);
+                if (sequences.get(index) != head + 1) {
+                    break;
+                }
+                Site site = sites[index];
+                String format = formats[index];
+                Object[] args = arguments[index];
+                long suppressedCount = suppressedCounts[index];
+                sites[index] = null;
+                formats[index] = null;
+                arguments[index] = null;
+                sequences.set(index, head + CAPACITY);
+                head++;
+
+                line.setLength(0);
+                line.append(site.prefix).append(format(format, args));
+                if (suppressedCount > 0) {
+                    line.append(" (").append(suppressedCount).append(" more rate limited)");
+                }
+                if (site.siteLevel.ordinal() >= Level.WARN.ordinal()) {
+                    System.err.println(line);
+                } else {
+                    System.out.println(line);
+                }
+            }
+
+            long droppedNow = dropped.get();
+            if (droppedNow != reportedDropped) {
+                System.err.println("[WARN] ConsoleLog: dropped " + (droppedNow - reportedDropped) + " messages, queue full");
+                reportedDropped = droppedNow;
+            }
+        }
+    }
+
+    private static String format(String format, Object[] args) {
+        if (args.length == 0) {
+            return format;
+        }
+        try {
+            return String.format(format, args);
+        } catch (IllegalFormatException e) {
+            return format + " (bad format: " + e.getMessage() + ")";
+        }
+    }
+}
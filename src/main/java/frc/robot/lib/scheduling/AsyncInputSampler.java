@@ -0,0 +1,35 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.scheduling;
+
+import java.util.ArrayList;
+
+/**
+ * Reads sensor inputs off the main thread. Async IO wrappers register a sample callback that
+ * fills their InputBuffer, and one notifier task runs every callback each period.
+ */
+public class AsyncInputSampler {
+    private final ArrayList<Runnable> samplers = new ArrayList<>();
+    private Runnable[] running = null;
+
+    /** Adds a callback, only before start */
+    public void register(Runnable sampler) {
+        if (running != null) {
+            throw new IllegalStateException("Can't register an input sampler after the sampler thread started");
+        }
+        samplers.add(sampler);
+    }
+
+    public void start(LoopScheduler scheduler, double periodSeconds, int priority) {
+        running = samplers.toArray(new Runnable[0]);
+        scheduler.addNotifierTask("IOSampler", periodSeconds, priority, this::sampleAll);
+    }
+
+    private void sampleAll() {
+        for (Runnable sampler : running) {
+            sampler.run();
+        }
+    }
+}
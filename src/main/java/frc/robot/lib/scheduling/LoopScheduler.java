@@ -0,0 +1,150 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.scheduling;
+
+import java.util.ArrayList;
+
+import org.littletonrobotics.junction.Logger;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Threads;
+import frc.robot.lib.auto.CrashTrackingRunnable;
+
+/**
+ * Runs subsystem work at its own rate instead of everything at the robotPeriodic rate.
+ *
+ * <p>Loop tasks run on the main thread from run(), which robotPeriodic calls once per loop, so their
+ * period has to be a multiple of the loop period. Due tasks run highest priority first. Once the
+ * task budget for a loop is used up the rest wait for the next loop, and the highest priority due
+ * task always gets to run.
+ *
+ * <p>Notifier tasks get their own thread and can run faster than the main loop. A priority above
+ * zero makes that thread real-time at that priority (1-99). They share nothing with the main loop
+ * unless the task makes it safe to, and they must not call the AdvantageKit Logger.
+ *
+ * <p>Every reportPeriod loops the jitter, exec time and missed deadlines of each task are logged.
+ */
+public class LoopScheduler {
+    private final long loopPeriodNanos;
+    private final long budgetNanos;
+    private final int reportPeriod;
+
+    // loop tasks are kept sorted by priority, highest first
+    private final ArrayList<ScheduledTask> loopTasks = new ArrayList<>();
+    private final ArrayList<Notifier> notifiers = new ArrayList<>();
+    private final ArrayList<String[]> logKeys = new ArrayList<>();
+    private final ArrayList<ScheduledTask> loggedTasks = new ArrayList<>();
+
+    private int loopsSinceReport = 0;
+
+    public LoopScheduler(double loopPeriodSeconds, double budgetSeconds, int reportPeriod) {
+        this.loopPeriodNanos = (long) (loopPeriodSeconds * 1.0e9);
+        this.budgetNanos = (long) (budgetSeconds * 1.0e9);
+        this.reportPeriod = reportPeriod;
+    }
+
+    /** Adds a task run from the main loop, the period is rounded to whole loops by when it runs */
+    public ScheduledTask addLoopTask(String name, double periodSeconds, int priority, Runnable body) {
+        if (periodSeconds * 1.0e9 < loopPeriodNanos) {
+            throw new IllegalArgumentException(
+                "Loop task " + name + " can't run faster than the main loop, use a notifier task");
+        }
+        ScheduledTask task = new ScheduledTask(name, periodSeconds, priority, body);
+        int index = 0;
+        while (index < loopTasks.size() && loopTasks.get(index).getPriority() >= priority) {
+            index++;
+        }
+        loopTasks.add(index, task);
+        addLogKeys(task);
+        return task;
+    }
+
+    /** Adds a task run on its own Notifier thread, starting right away */
+    public ScheduledTask addNotifierTask(String name, double periodSeconds, int priority, Runnable body) {
+        ScheduledTask task = new ScheduledTask(name, periodSeconds, priority, body);
+        Notifier notifier = new Notifier(new CrashTrackingRunnable() {
+            private boolean priorityApplied = false;
+
+            @Override
+            public void runCrashTracked() {
+                if (!priorityApplied) {
+                    priorityApplied = true;
+                    if (priority > 0) {
+                        Threads.setCurrentThreadPriority(true, priority);
+                    }
+                }
+                task.run(System.nanoTime());
+            }
+        });
+        notifier.setName(name);
+        notifier.startPeriodic(periodSeconds);
+
+        notifiers.add(notifier);
+        addLogKeys(task);
+        return task;
+    }
+
+    // call once per robotPeriodic
+    public void run() {
+        long loopStart = System.nanoTime();
+        long slack = loopPeriodNanos / 2;
+        boolean ranOne = false;
+        for (int i = 0; i < loopTasks.size(); i++) {
+            ScheduledTask task = loopTasks.get(i);
+            long now = System.nanoTime();
+            if (!task.isDue(now, slack)) {
+                continue;
+            }
+            if (ranOne && now - loopStart > budgetNanos) {
+                task.defer();
+                continue;
+            }
+            task.run(now);
+            ranOne = true;
+        }
+
+        if (++loopsSinceReport >= reportPeriod) {
+            loopsSinceReport = 0;
+            report();
+        }
+    }
+
+    public void stopNotifiers() {
+        for (int i = 0; i < notifiers.size(); i++) {
+            notifiers.get(i).stop();
+        }
+    }
+
+    private void addLogKeys(ScheduledTask task) {
+        String prefix = "Scheduler/" + task.getName() + "/";
+        logKeys.add(new String[] {
+            prefix + "JitterMs",
+            prefix + "MaxJitterMs",
+            prefix + "ExecMs",
+            prefix + "MaxExecMs",
+            prefix + "Runs",
+            prefix + "MissedDeadlines",
+            prefix + "Deferrals"
+        });
+        loggedTasks.add(task);
+    }
+
+    private void report() {
+        Logger logger = Logger.getInstance();
+        for (int i = 0; i < loggedTasks.size(); i++) {
+            ScheduledTask task = loggedTasks.get(i);
+            String[] keys = logKeys.get(i);
+            logger.recordOutput(keys[0], task.getLastJitterMs());
+            logger.recordOutput(keys[1], task.getMaxJitterMs());
+            logger.recordOutput(keys[2], task.getLastExecMs());
+            logger.recordOutput(keys[3], task.getMaxExecMs());
+            logger.recordOutput(keys[4], task.getRuns());
+            logger.recordOutput(keys[5], task.getMissedDeadlines());
+            logger.recordOutput(keys[6], task.getDeferrals());
+            // maxima are per report window
+            task.resetMaxima();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.scheduling;
+
+/**
+ * One periodic task registered with the LoopScheduler, along with its timing stats. Jitter is how
+ * far a run started from when it was due. A deadline is missed when a run starts a whole period
+ * late or takes longer than its period. The stats are written only by the thread that runs the
+ * task and are volatile so the main loop can log them.
+ */
+public class ScheduledTask {
+    private final String name;
+    private final long periodNanos;
+    private final int priority;
+    private final Runnable body;
+
+    // when the next run is due, on the System.nanoTime clock
+    private long dueNanos = 0;
+    private boolean started = false;
+
+    private volatile long runs = 0;
+    private volatile long missedDeadlines = 0;
+    private volatile long deferrals = 0;
+    private volatile long lastJitterNanos = 0;
+    private volatile long maxJitterNanos = 0;
+    private volatile long lastExecNanos = 0;
+    private volatile long maxExecNanos = 0;
+
+    ScheduledTask(String name, double periodSeconds, int priority, Runnable body) {
+        this.name = name;
+        this.periodNanos = (long) (periodSeconds * 1.0e9);
+        this.priority = priority;
+        this.body = body;
+    }
+
+    // slack lets a task that is due a hair after the loop wakes up run now instead of a loop late
+    boolean isDue(long now, long slackNanos) {
+        return !started || now >= dueNanos - slackNanos;
+    }
+
+    void run(long now) {
+        if (started) {
+            long jitter = now - dueNanos;
+            lastJitterNanos = jitter;
+            if (Math.abs(jitter) > maxJitterNanos) {
+                maxJitterNanos = Math.abs(jitter);
+            }
+            if (jitter >= periodNanos) {
+                // fell a whole period behind, realign rather than run back to back to catch up
+                missedDeadlines++;
+                dueNanos = now;
+            }
+        } else {
+            started = true;
+            dueNanos = now;
+        }
+
+        body.run();
+
+        long exec = System.nanoTime() - now;
+        lastExecNanos = exec;
+        if (exec > maxExecNanos) {
+            maxExecNanos = exec;
+        }
+        if (exec > periodNanos) {
+            missedDeadlines++;
+        }
+        dueNanos += periodNanos;
+        runs++;
+    }
+
+    void defer() {
+        deferrals++;
+    }
+
+    void resetMaxima() {
+        maxJitterNanos = 0;
+        maxExecNanos = 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPeriodSeconds() {
+        return periodNanos / 1.0e9;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    public long getMissedDeadlines() {
+        return missedDeadlines;
+    }
+
+    /** @return how many times the task was due but pushed to the next loop by the time budget */
+    public long getDeferrals() {
+        return deferrals;
+    }
+
+    public double getLastJitterMs() {
+        return lastJitterNanos / 1.0e6;
+    }
+
+    public double getMaxJitterMs() {
+        return maxJitterNanos / 1.0e6;
+    }
+
+    public double getLastExecMs() {
+        return lastExecNanos / 1.0e6;
+    }
+
+    public double getMaxExecMs() {
+        return maxExecNanos / 1.0e6;
+    }
+}
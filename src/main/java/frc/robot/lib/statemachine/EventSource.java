@@ -0,0 +1,17 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.statemachine;
+
+/**
+ * Tells an event-driven StateMachine which input channels changed this cycle. A channel is one
+ * bit of a long, what each bit means is up to the source and the transitions that name it.
+ */
+public interface EventSource {
+    /** @return a number that goes up by one every cycle, so skipped cycles can be spotted */
+    long getCycle();
+
+    /** @return the channels that changed since the previous cycle */
+    long getChangedChannels();
+}
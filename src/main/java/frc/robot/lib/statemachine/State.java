@@ -6,9 +6,14 @@ package frc.robot.lib.statemachine;
 
 import java.util.*;
 
+import frc.robot.Constants;
+import frc.robot.lib.log.ConsoleLog;
+
 /** Class for creating states in each subsystem's state machine */
 public class State {
 
+    private static final ConsoleLog.Site log = ConsoleLog.site("StateMachine", ConsoleLog.Level.INFO, 0.0);
+
     public void build() {}
 
     // list to hold all the transitions between states
@@ -27,15 +32,55 @@ public class State {
         return transitions;
     }
 
+    // transitions sorted by priority, rebuilt when the list above changes size
+    private Transition[] compiled = new Transition[0];
+    private int compiledSize = -1;
+    // every channel a transition here depends on, and whether any has to be checked every cycle
+    private long compiledChannels = 0;
+    private boolean compiledHasPolled = false;
+
+    /* sorts the transitions into a flat array for the state machine to walk,
+       call again after replacing entries in the list without changing its size */
+    public void compile() {
+        Transition[] sorted = transitions.toArray(new Transition[0]);
+        // the sort is stable, so equal priorities keep the order they were added in
+        Arrays.sort(sorted, (a, b) -> Integer.compare(b.getPriority(), a.getPriority()));
+        long channels = 0;
+        boolean hasPolled = false;
+        for (Transition t : sorted) {
+            channels |= t.getChannels();
+            hasPolled |= t.getChannels() == Transition.POLLED;
+        }
+        compiled = sorted;
+        compiledChannels = channels;
+        compiledHasPolled = hasPolled;
+        compiledSize = transitions.size();
+    }
+
+    /* true when nothing any transition here depends on has changed */
+    boolean isQuiet(long changedChannels) {
+        getCompiledTransitions();
+        return !compiledHasPolled && (compiledChannels & changedChannels) == 0;
+    }
+
+    Transition[] getCompiledTransitions() {
+        if (compiledSize != transitions.size()) {
+            compile();
+        }
+        return compiled;
+    }
+
     public void init(State prevState) {}
 
     public void execute() {}
 
     public void exit(State nextState) {}
 
-    // this method is called when initializing a state and it will also print statement
+    // this method is called when initializing a state and it can also print statement
     public void init_private(State prevState) {
-        System.out.println(state_machine_name + ": entering state " + this.getClass().getName());
+        if (Constants.STATE_MACHINES.PRINT_TRANSITIONS) {
+            log.log("%s: entering state %s", state_machine_name, this.getClass().getName());
+        }
         init(prevState);
     }
 
@@ -46,7 +91,9 @@ public class State {
 
     // this method is called when exiting a state
     public void exit_private(State nextState) {
-        System.out.println(state_machine_name + ": exiting state " + this.getClass().getName());
+        if (Constants.STATE_MACHINES.PRINT_TRANSITIONS) {
+            log.log("%s: exiting state %s", state_machine_name, this.getClass().getName());
+        }
         exit(nextState);
     }
 }
@@ -4,49 +4,198 @@
 
 package frc.robot.lib.statemachine;
 
-import java.util.List;
+import java.util.ArrayList;
+
+import org.littletonrobotics.junction.Logger;
+
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.Constants;
 
 /** Class for creating a subsystem's state machine */
 public class StateMachine {
 
+    // every machine made, so report can log them all
+    private static final ArrayList<StateMachine> machines = new ArrayList<>();
+
     State currentState;
     boolean maintain = false;
 
+    private final String logPrefix;
+    private final StateTelemetry telemetry;
+
+    // null checks every transition every cycle, otherwise only the ones whose inputs changed
+    private EventSource eventSource = null;
+    private long lastCycle = 0;
+    private boolean checkAll = true;
+
+    // transition evaluation cost, all on the main loop
+    private long evaluationNanos = 0;
+    private long maxEvaluationNanos = 0;
+    private long evaluatedCycles = 0;
+    private long guardChecks = 0;
+    private long transitionsTaken = 0;
+    private long quietCycles = 0;
+    private long reportedNanos = 0;
+    private long reportedCycles = 0;
+    private long reportedChecks = 0;
+    private long reportedQuietCycles = 0;
+
+    public StateMachine() {
+        logPrefix = "StateMachines/" + getClass().getSimpleName() + "/";
+        telemetry = new StateTelemetry(logPrefix, Constants.STATE_MACHINES.MAX_STATES, Constants.STATE_MACHINES.DWELL_BUCKETS_SECONDS);
+        synchronized (machines) {
+            machines.add(this);
+        }
+    }
+
     // returns the current state of the state machine
     public State getCurrentState() {
         return currentState;
     }
 
-    /* executes the current state, 
-       then checks if any transitions are true to transition to the next state */
+    /* switches to event dispatch, transitions are only checked when a channel they depend on
+       changes. Everything is still checked on entering a state and after a skipped cycle */
+    public void setEventSource(EventSource source) {
+        eventSource = source;
+        checkAll = true;
+    }
+
+    /* executes the current state, then takes the first transition that's true,
+       checking them from highest priority down */
     public void setNextState() {
         currentState.execute_private();
         if (maintain)
             return;
-        List<Transition> transitions = currentState.getTransitions();
-        for (int i = 0; i < transitions.size(); i++) {
-            Transition t = transitions.get(i);
+
+        long start = System.nanoTime();
+        // every bit set makes every transition due
+        long changed = -1L;
+        if (eventSource != null) {
+            long cycle = eventSource.getCycle();
+            if (!checkAll && cycle == lastCycle + 1) {
+                changed = eventSource.getChangedChannels();
+            }
+            lastCycle = cycle;
+            checkAll = false;
+            if (currentState.isQuiet(changed)) {
+                quietCycles++;
+                evaluatedCycles++;
+                evaluationNanos += System.nanoTime() - start;
+                return;
+            }
+        }
+
+        Transition[] transitions = currentState.getCompiledTransitions();
+        Transition fired = null;
+        int checked = 0;
+        for (int i = 0; i < transitions.length; i++) {
+            Transition t = transitions[i];
+            long channels = t.getChannels();
+            // a skipped guard was false last cycle and none of its inputs have moved since
+            if (channels != Transition.POLLED && (channels & changed) == 0) {
+                continue;
+            }
+            checked++;
             if (t.check()) {
-                setCurrentState(t.getState());
+                fired = t;
+                break;
             }
         }
+        long elapsed = System.nanoTime() - start;
+
+        evaluationNanos += elapsed;
+        maxEvaluationNanos = Math.max(maxEvaluationNanos, elapsed);
+        evaluatedCycles++;
+        guardChecks += checked;
+
+        if (fired != null) {
+            fired.recordHit();
+            transitionsTaken++;
+            setCurrentState(fired.getState());
+        }
     }
 
-    /* checks the current state isn't null before exiting the state and 
+    /* checks the current state isn't null before exiting the state and
     setting the new state as the current state */
     public void setCurrentState(State newState) {
         if (currentState != null) {
             currentState.exit_private(newState);
         }
+        telemetry.transition(newState, RobotController.getFPGATime());
         State prevState = currentState;
         currentState = newState;
         currentState.state_machine_name = this.getClass().getName();
         currentState.init_private(prevState);
         maintain = false;
+        checkAll = true;
     }
 
     public void maintainState(State newState) {
         setCurrentState(newState);
         maintain = true;
     }
+
+    // total time spent checking transitions, not counting state init/exit
+    public long getEvaluationNanos() {
+        return evaluationNanos;
+    }
+
+    public long getEvaluatedCycles() {
+        return evaluatedCycles;
+    }
+
+    public long getGuardChecks() {
+        return guardChecks;
+    }
+
+    public long getTransitionsTaken() {
+        return transitionsTaken;
+    }
+
+    // small integer id the state is logged under, -1 if this machine hasn't entered it yet
+    public int getStateId(State state) {
+        return telemetry.getStateId(state);
+    }
+
+    public long getEntries(State state) {
+        int id = telemetry.getStateId(state);
+        return id < 0 ? 0 : telemetry.getEntries(id);
+    }
+
+    // total seconds spent in a state, including the current visit
+    public double getTimeInState(State state) {
+        int id = telemetry.getStateId(state);
+        return id < 0 ? 0.0 : telemetry.getTimeInStateMicros(id, RobotController.getFPGATime()) / 1.0e6;
+    }
+
+    /* logs each machine's transition cost since the last report and its per-state counters,
+       run it from the main loop */
+    public static void report() {
+        Logger logger = Logger.getInstance();
+        long now = RobotController.getFPGATime();
+        synchronized (machines) {
+            for (int i = 0; i < machines.size(); i++) {
+                StateMachine machine = machines.get(i);
+                long cycles = machine.evaluatedCycles - machine.reportedCycles;
+                if (cycles > 0) {
+                    long nanos = machine.evaluationNanos - machine.reportedNanos;
+                    long checks = machine.guardChecks - machine.reportedChecks;
+                    logger.recordOutput(machine.logPrefix + "EvalMicrosMean", nanos / 1.0e3 / cycles);
+                    logger.recordOutput(machine.logPrefix + "GuardChecksPerCycle", (double) checks / cycles);
+                    logger.recordOutput(machine.logPrefix + "QuietCycleFraction",
+                        (double) (machine.quietCycles - machine.reportedQuietCycles) / cycles);
+                }
+                logger.recordOutput(machine.logPrefix + "EvalMicrosMax", machine.maxEvaluationNanos / 1.0e3);
+                logger.recordOutput(machine.logPrefix + "TransitionsTaken", (double) machine.transitionsTaken);
+
+                machine.reportedCycles = machine.evaluatedCycles;
+                machine.reportedNanos = machine.evaluationNanos;
+                machine.reportedChecks = machine.guardChecks;
+                machine.reportedQuietCycles = machine.quietCycles;
+                machine.maxEvaluationNanos = 0;
+
+                machine.telemetry.report(logger, now);
+            }
+        }
+    }
 }
@@ -0,0 +1,126 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.statemachine;
+
+import java.util.Arrays;
+
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Per-state counters for one state machine: entries, total time in state and a histogram of
+ * how long each visit lasted. States get a small integer id the first time they're entered, and
+ * transitions are logged as ids so the loop never builds a string. StateNames maps ids back to
+ * names in the log.
+ */
+class StateTelemetry {
+    private final String logPrefix;
+    private final long[] bucketEdgesMicros;
+
+    private final State[] states;
+    private final String[] stateNames;
+    private final String[] stateKeys;
+    private int stateCount = 0;
+    private String[] loggedNames = new String[0];
+
+    private final long[] entries;
+    private final long[] timeInStateMicros;
+    private final long[][] dwellHistogram;
+
+    private int currentId = -1;
+    private long enteredMicros = 0;
+
+    StateTelemetry(String logPrefix, int maxStates, double[] bucketEdgesSeconds) {
+        this.logPrefix = logPrefix;
+        bucketEdgesMicros = new long[bucketEdgesSeconds.length];
+        for (int i = 0; i < bucketEdgesSeconds.length; i++) {
+            bucketEdgesMicros[i] = (long) (bucketEdgesSeconds[i] * 1.0e6);
+        }
+
+        states = new State[maxStates];
+        stateNames = new String[maxStates];
+        stateKeys = new String[maxStates];
+        entries = new long[maxStates];
+        timeInStateMicros = new long[maxStates];
+        dwellHistogram = new long[maxStates][bucketEdgesSeconds.length + 1];
+    }
+
+    /** Records leaving the current state (if any) for the new one at the given time */
+    void transition(State newState, long nowMicros) {
+        int fromId = currentId;
+        if (fromId >= 0) {
+            long dwell = nowMicros - enteredMicros;
+            timeInStateMicros[fromId] += dwell;
+            dwellHistogram[fromId][bucketOf(dwell)]++;
+        }
+
+        int toId = idOf(newState);
+        entries[toId]++;
+        currentId = toId;
+        enteredMicros = nowMicros;
+
+        Logger logger = Logger.getInstance();
+        logger.recordOutput(logPrefix + "StateId", (long) toId);
+        // from in the high byte, to in the low byte, -1 (0xFF) for the first state
+        logger.recordOutput(logPrefix + "Transition", (long) (((fromId & 0xFF) << 8) | toId));
+    }
+
+    int getStateId(State state) {
+        for (int i = 0; i < stateCount; i++) {
+            if (states[i] == state) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    long getEntries(int id) {
+        return entries[id];
+    }
+
+    /** @return total time spent in a state, counting the visit in progress */
+    long getTimeInStateMicros(int id, long nowMicros) {
+        return timeInStateMicros[id] + (id == currentId ? nowMicros - enteredMicros : 0);
+    }
+
+    void report(Logger logger, long nowMicros) {
+        if (stateCount == 0) {
+            return;
+        }
+        if (loggedNames.length != stateCount) {
+            loggedNames = Arrays.copyOf(stateNames, stateCount);
+        }
+        logger.recordOutput(logPrefix + "StateNames", loggedNames);
+        for (int i = 0; i < stateCount; i++) {
+            logger.recordOutput(stateKeys[i] + "Entries", (double) entries[i]);
+            logger.recordOutput(stateKeys[i] + "TimeInStateSec", getTimeInStateMicros(i, nowMicros) / 1.0e6);
+            // a copy, the log writer may still be reading the last one
+            logger.recordOutput(stateKeys[i] + "DwellHistogram", dwellHistogram[i].clone());
+        }
+    }
+
+    private int idOf(State state) {
+        int id = getStateId(state);
+        if (id >= 0) {
+            return id;
+        }
+        if (stateCount == states.length) {
+            throw new IllegalStateException(logPrefix + " has more than " + states.length + " states");
+        }
+        id = stateCount++;
+        states[id] = state;
+        stateNames[id] = state.getClass().getSimpleName();
+        stateKeys[id] = logPrefix + stateNames[id] + "/";
+        return id;
+    }
+
+    private int bucketOf(long dwellMicros) {
+        for (int i = 0; i < bucketEdgesMicros.length; i++) {
+            if (dwellMicros <= bucketEdgesMicros[i]) {
+                return i;
+            }
+        }
+        return bucketEdgesMicros.length;
+    }
+}
@@ -4,28 +4,75 @@
 
 package frc.robot.lib.statemachine;
 
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 /** Class for adding a transition to a state */
 public class Transition {
 
-    private Supplier<Boolean> transition_function;
+    public static final int DEFAULT_PRIORITY = 0;
+    public static final long POLLED = 0;
 
-    private State state;
+    private final BooleanSupplier transition_function;
 
-    // constructor to initialize a new transition object
-    public Transition(Supplier<Boolean> func, State next_state) {
+    private final State state;
+
+    // higher priorities are checked first, equal priorities in the order they were added
+    private final int priority;
+
+    // number of times this transition has fired
+    private long hits = 0;
+
+    // EventSource channels the guard reads, 0 means check it every cycle
+    private long channels = POLLED;
+
+    // constructor to initialize a new transition object, lambdas returning a boolean land here
+    public Transition(BooleanSupplier func, State next_state) {
+        this(func, next_state, DEFAULT_PRIORITY);
+    }
+
+    public Transition(BooleanSupplier func, State next_state, int priority) {
         transition_function = func;
         state = next_state;
+        this.priority = priority;
+    }
+
+    // kept so existing Supplier<Boolean> guards still compile, these unbox on every check
+    public Transition(Supplier<Boolean> func, State next_state) {
+        this(func::get, next_state, DEFAULT_PRIORITY);
     }
 
     // check if the transition function returns true
     public boolean check() {
-        return transition_function.get();
+        return transition_function.getAsBoolean();
     }
 
     // get the current state of the state machine
     public State getState() {
         return state;
     }
+
+    /* declares the input channels the guard depends on, an event-driven state machine then only
+       checks it on cycles where one of them changed. Leave guards that read timers, sensors or
+       anything else that isn't a channel undeclared and they're checked every cycle */
+    public Transition dependsOn(long channels) {
+        this.channels = channels;
+        return this;
+    }
+
+    public long getChannels() {
+        return channels;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public long getHitCount() {
+        return hits;
+    }
+
+    void recordHit() {
+        hits++;
+    }
 }
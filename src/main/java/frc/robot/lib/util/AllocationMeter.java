@@ -0,0 +1,74 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.util;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads how many bytes the calling thread has allocated, through the HotSpot ThreadMXBean.
+ * A reading allocates a little itself, so that cost is measured once up front and
+ * subtracted from every delta.
+ */
+public class AllocationMeter {
+    private static final com.sun.management.ThreadMXBean threadBean = findThreadBean();
+
+    private final long threadId;
+    private final long readingOverheadBytes;
+
+    /** Creates a meter for the thread that calls the constructor */
+    public AllocationMeter() {
+        threadId = Thread.currentThread().getId();
+        readingOverheadBytes = isSupported() ? calibrate() : 0;
+    }
+
+    public static boolean isSupported() {
+        return threadBean != null;
+    }
+
+    /** @return total bytes allocated by the thread so far, or 0 if the JVM can't tell us */
+    public long read() {
+        if (threadBean == null) {
+            return 0;
+        }
+        return threadBean.getThreadAllocatedBytes(threadId);
+    }
+
+    /** @return bytes allocated between two readings, not counting the readings themselves */
+    public long delta(long startReading, long endReading) {
+        return Math.max(0, endReading - startReading - readingOverheadBytes);
+    }
+
+    public long getReadingOverheadBytes() {
+        return readingOverheadBytes;
+    }
+
+    // back to back readings differ only by what a reading allocates, take the smallest of a few
+    private long calibrate() {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            long first = read();
+            long second = read();
+            overhead = Math.min(overhead, second - first);
+        }
+        return Math.max(0, overhead);
+    }
+
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+                return null;
+            }
+            com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) bean;
+            if (!hotspotBean.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            hotspotBean.setThreadAllocatedMemoryEnabled(true);
+            return hotspotBean;
+        } catch (LinkageError | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
@@ -24,6 +24,25 @@ public class CTREModuleState {
     return new SwerveModuleState(targetSpeed, Rotation2d.fromDegrees(targetAngle));
   }
 
+  /**
+   * Same as optimize, on one module's entry in speed and angle arrays, in place and without
+   * allocating.
+   *
+   * @param speeds Module speeds in meters per second.
+   * @param anglesDegrees Module angles in degrees.
+   * @param module Index of the module to optimize.
+   * @param currentDegrees The current module angle in degrees.
+   */
+  public static void optimize(double[] speeds, double[] anglesDegrees, int module, double currentDegrees) {
+    double targetAngle = placeInAppropriate0To360Scope(currentDegrees, anglesDegrees[module]);
+    double delta = targetAngle - currentDegrees;
+    if (Math.abs(delta) > 90){
+        speeds[module] = -speeds[module];
+        targetAngle = delta > 90 ? targetAngle - 180 : targetAngle + 180;
+    }
+    anglesDegrees[module] = targetAngle;
+  }
+
   /**
      * @param scopeReference Current Angle
      * @param newAngle Target Angle
@@ -0,0 +1,121 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.util;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Constants;
+
+/**
+ * The auto-align targets (substation slots, then the nine scoring nodes) for one alliance.
+ * Poses are built once when the index is created, and queries only walk primitive arrays,
+ * so nearest-target and shift lookups don't allocate and always touch the same 11 entries.
+ */
+public class FieldTargetIndex {
+    public static final int NO_SCORING_NODE = -1;
+
+    private static final int SUBSTATION_COUNT = 2;
+    private static final int SCORING_NODE_COUNT = 9;
+
+    // one lazily built index per alliance, indexed by Alliance.ordinal()
+    private static final FieldTargetIndex[] indexes = new FieldTargetIndex[DriverStation.Alliance.values().length];
+
+    private final Pose2d[] poses;
+    private final double[] xs;
+    private final double[] ys;
+    private final int firstScoringNode;
+
+    private FieldTargetIndex(DriverStation.Alliance alliance) {
+        double scoringX = 0.0;
+        double substationX = 0.0;
+        Rotation2d scoringRotation = Rotation2d.fromDegrees(0.0);
+        Rotation2d substationRotation = Rotation2d.fromDegrees(0.0);
+
+        if (alliance == DriverStation.Alliance.Red) {
+            scoringX = Constants.TargetPoses.RED_TRANSPOSE_DISTANCE - Constants.TargetPoses.BLUE_SCORING_X;
+            substationX = Constants.TargetPoses.RED_TRANSPOSE_DISTANCE - Constants.TargetPoses.BLUE_SUBSTATION_X;
+            substationRotation = Rotation2d.fromDegrees(180.0);
+        } else if (alliance == DriverStation.Alliance.Blue) {
+            scoringX = Constants.TargetPoses.BLUE_SCORING_X;
+            substationX = Constants.TargetPoses.BLUE_SUBSTATION_X;
+            scoringRotation = Rotation2d.fromDegrees(180.0);
+        }
+
+        poses = new Pose2d[SUBSTATION_COUNT + SCORING_NODE_COUNT];
+        xs = new double[poses.length];
+        ys = new double[poses.length];
+        firstScoringNode = SUBSTATION_COUNT;
+
+        // substation slots come first so they win ties, same as the old scan order
+        for (int i = 0; i < SUBSTATION_COUNT; i++) {
+            poses[i] = new Pose2d(
+                substationX,
+                Constants.TargetPoses.BLUE_SUBSTATION_Y - i * Constants.TargetPoses.SUBSTATION_SPACING,
+                substationRotation
+            );
+        }
+
+        for (int i = 0; i < SCORING_NODE_COUNT; i++) {
+            poses[firstScoringNode + i] = new Pose2d(
+                scoringX,
+                Constants.TargetPoses.BLUE_SCORING_Y + i * Constants.TargetPoses.SCORING_SPACING,
+                scoringRotation
+            );
+        }
+
+        for (int i = 0; i < poses.length; i++) {
+            xs[i] = poses[i].getX();
+            ys[i] = poses[i].getY();
+        }
+    }
+
+    public static FieldTargetIndex forAlliance(DriverStation.Alliance alliance) {
+        int slot = alliance.ordinal();
+        if (indexes[slot] == null) {
+            indexes[slot] = new FieldTargetIndex(alliance);
+        }
+        return indexes[slot];
+    }
+
+    /** @return index of the target closest to (x, y), for use with getPose and getScoringNode */
+    public int nearest(double x, double y) {
+        int nearest = 0;
+        double shortestDistanceSq = Double.MAX_VALUE;
+        for (int i = 0; i < poses.length; i++) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            double distanceSq = dx * dx + dy * dy;
+            if (distanceSq < shortestDistanceSq) {
+                shortestDistanceSq = distanceSq;
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+    public double distance(int target, double x, double y) {
+        return Math.hypot(xs[target] - x, ys[target] - y);
+    }
+
+    public Pose2d getPose(int target) {
+        return poses[target];
+    }
+
+    /** @return the scoring node number (0-8) of a target, or NO_SCORING_NODE for a substation slot */
+    public int getScoringNode(int target) {
+        return target >= firstScoringNode ? target - firstScoringNode : NO_SCORING_NODE;
+    }
+
+    public Pose2d getScoringNodePose(int node) {
+        return poses[firstScoringNode + node];
+    }
+
+    /** @return the node next to the given one, clamped to the ends of the grid */
+    public int shiftScoringNode(int node, boolean increase) {
+        int shifted = increase ? node + 1 : node - 1;
+        return Math.max(Math.min(shifted, SCORING_NODE_COUNT - 1), 0);
+    }
+}
@@ -0,0 +1,88 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.littletonrobotics.junction.Logger;
+
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Hands input structs from one sampling thread to the main loop without locks or copies.
+ * The sampler fills its back buffer and publishes it, the main loop swaps the newest published
+ * buffer in with one atomic exchange. A third buffer sits between the two so neither side ever
+ * waits on or writes over the buffer the other is using.
+ *
+ * <p>latest logs how old the sample it hands back is as AsyncInputs/name/SampleAgeMs, how stale
+ * the sampler thread's reading is by the time the loop uses it.
+ */
+public class InputBuffer<T> {
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4;
+
+    private final Object[] slots = new Object[3];
+    private final long[] timestampsMicros = new long[3];
+
+    // slot the sampler is filling and slot the main loop is reading, each owned by one thread
+    private int writeIndex = 0;
+    private int readIndex = 1;
+    // slot holding the latest published sample, with FRESH set until the main loop takes it
+    private final AtomicInteger published = new AtomicInteger(2);
+
+    private final String sampleAgeKey;
+
+    /** @param name identifies this buffer's sample age in the log */
+    public InputBuffer(String name, Supplier<T> factory) {
+        sampleAgeKey = "AsyncInputs/" + name + "/SampleAgeMs";
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = factory.get();
+        }
+    }
+
+    /** Sampler side: the struct to fill before calling publish */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[writeIndex];
+    }
+
+    /** Sampler side: makes the back buffer the latest sample, stamped with the FPGA time */
+    public void publish() {
+        timestampsMicros[writeIndex] = RobotController.getFPGATime();
+        writeIndex = published.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    /** Main loop side: takes the latest sample if there's a new one, returns false otherwise */
+    public boolean swap() {
+        if ((published.get() & FRESH) == 0) {
+            return false;
+        }
+        readIndex = published.getAndSet(readIndex) & INDEX_MASK;
+        return true;
+    }
+
+    /** Main loop side: the sample taken by the last successful swap */
+    @SuppressWarnings("unchecked")
+    public T front() {
+        return (T) slots[readIndex];
+    }
+
+    /** Main loop side: swaps in the newest sample if there is one and logs its age, see front */
+    public T latest() {
+        swap();
+        long ageMicros = frontAgeMicros();
+        if (ageMicros >= 0) {
+            Logger.getInstance().recordOutput(sampleAgeKey, ageMicros / 1000.0);
+        }
+        return front();
+    }
+
+    /** @return microseconds from when the front sample was published until now, -1 before the first */
+    public long frontAgeMicros() {
+        long timestamp = timestampsMicros[readIndex];
+        return timestamp == 0 ? -1 : RobotController.getFPGATime() - timestamp;
+    }
+}
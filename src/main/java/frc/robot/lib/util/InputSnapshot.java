@@ -0,0 +1,227 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.util;
+
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.inputs.LoggableInputs;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.XboxController;
+import frc.robot.lib.statemachine.EventSource;
+
+/**
+ * Both controllers read once per loop. capture pulls every button as one bitmask and every axis
+ * from the DriverStation cache, processInputs logs or replays that, and updateEdges works out
+ * which buttons were pressed or released since the last loop. Everything else reads the
+ * snapshot, so a button used by five state machines is still one DriverStation call per loop.
+ *
+ * <p>It's also the EventSource for event-driven state machines. Channels are laid out as the
+ * first 16 buttons then the axes of the driver controller in the low 32 bits, and the same for
+ * the manipulator in the high 32 bits. An axis channel changes whenever its value does.
+ */
+public class InputSnapshot implements LoggableInputs, EventSource {
+    // Xbox controllers report 6 axes
+    public static final int MAX_AXES = 6;
+    public static final int CHANNEL_BUTTONS = 16;
+    private static final int DRIVER_CHANNEL_OFFSET = 0;
+    private static final int MANIPULATOR_CHANNEL_OFFSET = 32;
+
+    public final Controller driver;
+    public final Controller manipulator;
+
+    private long cycle = 0;
+    private long changedChannels = 0;
+
+    public InputSnapshot(int driverPort, int manipulatorPort) {
+        driver = new Controller("Driver", driverPort, DRIVER_CHANNEL_OFFSET);
+        manipulator = new Controller("Manipulator", manipulatorPort, MANIPULATOR_CHANNEL_OFFSET);
+    }
+
+    public static long driverButton(int button) {
+        return buttonChannel(DRIVER_CHANNEL_OFFSET, button);
+    }
+
+    public static long driverAxis(int axis) {
+        return axisChannel(DRIVER_CHANNEL_OFFSET, axis);
+    }
+
+    public static long manipulatorButton(int button) {
+        return buttonChannel(MANIPULATOR_CHANNEL_OFFSET, button);
+    }
+
+    public static long manipulatorAxis(int axis) {
+        return axisChannel(MANIPULATOR_CHANNEL_OFFSET, axis);
+    }
+
+    /** Reads the controllers, in replay processInputs then swaps in the logged values */
+    public void capture() {
+        driver.capture();
+        manipulator.capture();
+    }
+
+    /** Works out button edges from the snapshot, call after processInputs */
+    public void updateEdges() {
+        changedChannels = driver.updateEdges() | manipulator.updateEdges();
+        cycle++;
+    }
+
+    @Override
+    public long getCycle() {
+        return cycle;
+    }
+
+    @Override
+    public long getChangedChannels() {
+        return changedChannels;
+    }
+
+    // channels past what fits map to 0, which transitions treat as check every cycle
+    private static long buttonChannel(int offset, int button) {
+        return button >= 1 && button <= CHANNEL_BUTTONS ? 1L << (offset + button - 1) : 0L;
+    }
+
+    private static long axisChannel(int offset, int axis) {
+        return axis >= 0 && axis < MAX_AXES ? 1L << (offset + CHANNEL_BUTTONS + axis) : 0L;
+    }
+
+    @Override
+    public void toLog(LogTable table) {
+        driver.toLog(table);
+        manipulator.toLog(table);
+    }
+
+    @Override
+    public void fromLog(LogTable table) {
+        driver.fromLog(table);
+        manipulator.fromLog(table);
+    }
+
+    /** One controller's buttons and axes, read with the same calls as XboxController */
+    public static class Controller {
+        private final int port;
+        private final int channelOffset;
+
+        // bit n - 1 is button n, same as DriverStation.getStickButtons
+        private long buttons = 0;
+        private long previousButtons = 0;
+        private long pressed = 0;
+        private long released = 0;
+        private int axisCount = 0;
+        private final double[] axes = new double[MAX_AXES];
+        private final double[] previousAxes = new double[MAX_AXES];
+
+        private final String buttonsKey;
+        private final String axisCountKey;
+        private final String[] axisKeys = new String[MAX_AXES];
+
+        Controller(String name, int port, int channelOffset) {
+            this.port = port;
+            this.channelOffset = channelOffset;
+            buttonsKey = name + "/Buttons";
+            axisCountKey = name + "/AxisCount";
+            // one key per axis, a logged array would be shared with the log thread while we overwrite it
+            for (int i = 0; i < MAX_AXES; i++) {
+                axisKeys[i] = name + "/Axis" + i;
+            }
+        }
+
+        void capture() {
+            buttons = DriverStation.getStickButtons(port) & 0xFFFFFFFFL;
+            axisCount = Math.min(DriverStation.getStickAxisCount(port), MAX_AXES);
+            for (int i = 0; i < axisCount; i++) {
+                axes[i] = DriverStation.getStickAxis(port, i);
+            }
+            for (int i = axisCount; i < MAX_AXES; i++) {
+                axes[i] = 0.0;
+            }
+        }
+
+        /** @return this controller's changed channels */
+        long updateEdges() {
+            pressed = buttons & ~previousButtons;
+            released = ~buttons & previousButtons;
+            previousButtons = buttons;
+
+            long changed = (pressed | released) & ((1L << CHANNEL_BUTTONS) - 1);
+            for (int i = 0; i < MAX_AXES; i++) {
+                if (axes[i] != previousAxes[i]) {
+                    changed |= 1L << (CHANNEL_BUTTONS + i);
+                }
+                previousAxes[i] = axes[i];
+            }
+            return changed << channelOffset;
+        }
+
+        void toLog(LogTable table) {
+            table.put(buttonsKey, buttons);
+            table.put(axisCountKey, (long) axisCount);
+            for (int i = 0; i < MAX_AXES; i++) {
+                table.put(axisKeys[i], axes[i]);
+            }
+        }
+
+        void fromLog(LogTable table) {
+            buttons = table.getInteger(buttonsKey, 0);
+            axisCount = (int) table.getInteger(axisCountKey, 0);
+            for (int i = 0; i < MAX_AXES; i++) {
+                axes[i] = table.getDouble(axisKeys[i], 0.0);
+            }
+        }
+
+        public long getButtons() {
+            return buttons;
+        }
+
+        /** @return buttons that went down since the last loop */
+        public long getPressedMask() {
+            return pressed;
+        }
+
+        /** @return buttons that came up since the last loop */
+        public long getReleasedMask() {
+            return released;
+        }
+
+        public boolean getRawButton(int button) {
+            return (buttons & mask(button)) != 0;
+        }
+
+        public boolean getRawButtonPressed(int button) {
+            return (pressed & mask(button)) != 0;
+        }
+
+        public boolean getRawButtonReleased(int button) {
+            return (released & mask(button)) != 0;
+        }
+
+        public double getRawAxis(int axis) {
+            return axis >= 0 && axis < axisCount ? axes[axis] : 0.0;
+        }
+
+        public double getLeftX() {
+            return getRawAxis(XboxController.Axis.kLeftX.value);
+        }
+
+        public double getLeftY() {
+            return getRawAxis(XboxController.Axis.kLeftY.value);
+        }
+
+        public double getRightX() {
+            return getRawAxis(XboxController.Axis.kRightX.value);
+        }
+
+        public double getRightY() {
+            return getRawAxis(XboxController.Axis.kRightY.value);
+        }
+
+        public boolean getAButton() {
+            return getRawButton(XboxController.Button.kA.value);
+        }
+
+        private static long mask(int button) {
+            return button >= 1 && button <= 32 ? 1L << (button - 1) : 0L;
+        }
+    }
+}
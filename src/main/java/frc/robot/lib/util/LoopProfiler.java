@@ -0,0 +1,217 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.util;
+
+import java.util.Arrays;
+
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Times each stage of the robot loop with System.nanoTime into preallocated ring buffers.
+ * Every reportPeriod loops the p50/p99/max of each stage is logged, and any loop that goes over
+ * the budget logs the stage that caused it. When disabled every call returns after one branch.
+ *
+ * <p>Allocation tracking is off by default. When turned on, the bytes the loop thread allocates are
+ * charged to stages the same way time is, and summed until resetAllocationTotals is called.
+ */
+public class LoopProfiler<E extends Enum<E>> {
+    private final E[] stages;
+    private final int windowSize;
+    private final int reportPeriod;
+    private final long budgetNanos;
+
+    // ring buffers of stage durations, one row per stage plus one for the whole loop
+    private final long[][] samples;
+    private final long[] sortScratch;
+    private final long[] currentLoop;
+    private final long[] stageMedians;
+    private final long[] overrunCounts;
+
+    // log keys are built once so reporting doesn't concatenate strings every loop
+    private final String[] p50Keys;
+    private final String[] p99Keys;
+    private final String[] maxKeys;
+    private final String[] overrunKeys;
+
+    // per-stage allocation, only filled in while allocation tracking is on
+    private final long[] currentLoopBytes;
+    private final long[] totalBytes;
+    private AllocationMeter allocationMeter = null;
+    private long lastMarkBytes = 0;
+    private long trackedLoops = 0;
+
+    private boolean enabled;
+    private int writeIndex = 0;
+    private int filled = 0;
+    private int loopsSinceReport = 0;
+    private long loopStartNanos = 0;
+    private long lastMarkNanos = 0;
+
+    public LoopProfiler(E[] stages, int windowSize, int reportPeriod, double budgetSeconds, boolean enabled) {
+        this.stages = stages;
+        this.windowSize = windowSize;
+        this.reportPeriod = reportPeriod;
+        this.budgetNanos = (long) (budgetSeconds * 1.0e9);
+        this.enabled = enabled;
+
+        int rows = stages.length + 1;
+        samples = new long[rows][windowSize];
+        sortScratch = new long[windowSize];
+        currentLoop = new long[rows];
+        stageMedians = new long[rows];
+        overrunCounts = new long[rows];
+        currentLoopBytes = new long[rows];
+        totalBytes = new long[rows];
+
+        p50Keys = new String[rows];
+        p99Keys = new String[rows];
+        maxKeys = new String[rows];
+        overrunKeys = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            String prefix = "LoopProfiler/" + stageName(i) + "/";
+            p50Keys[i] = prefix + "P50Ms";
+            p99Keys[i] = prefix + "P99Ms";
+            maxKeys[i] = prefix + "MaxMs";
+            overrunKeys[i] = prefix + "Overruns";
+        }
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // must be called from the thread that runs the loop, the meter reads that thread's counter
+    public void setAllocationTracking(boolean tracking) {
+        allocationMeter = tracking && AllocationMeter.isSupported() ? new AllocationMeter() : null;
+        resetAllocationTotals();
+    }
+
+    public boolean isTrackingAllocations() {
+        return allocationMeter != null;
+    }
+
+    public void resetAllocationTotals() {
+        Arrays.fill(totalBytes, 0);
+        trackedLoops = 0;
+    }
+
+    /** @return bytes allocated by a stage over all loops since the totals were reset */
+    public long getAllocatedBytes(E stage) {
+        return totalBytes[stage.ordinal()];
+    }
+
+    /** @return bytes allocated by whole loops since the totals were reset */
+    public long getTotalAllocatedBytes() {
+        return totalBytes[stages.length];
+    }
+
+    public long getTrackedLoops() {
+        return trackedLoops;
+    }
+
+    // call at the top of the loop, before the first stage runs
+    public void startLoop() {
+        if (!enabled) {
+            return;
+        }
+        Arrays.fill(currentLoop, 0);
+        if (allocationMeter != null) {
+            Arrays.fill(currentLoopBytes, 0);
+            lastMarkBytes = allocationMeter.read();
+        }
+        loopStartNanos = System.nanoTime();
+        lastMarkNanos = loopStartNanos;
+    }
+
+    // charges the time since the previous mark (or the start of the loop) to the given stage
+    public void mark(E stage) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        currentLoop[stage.ordinal()] += now - lastMarkNanos;
+        lastMarkNanos = now;
+        if (allocationMeter != null) {
+            long bytes = allocationMeter.read();
+            currentLoopBytes[stage.ordinal()] += allocationMeter.delta(lastMarkBytes, bytes);
+            lastMarkBytes = bytes;
+        }
+    }
+
+    // call once the last stage has been marked
+    public void endLoop() {
+        if (!enabled) {
+            return;
+        }
+        int total = stages.length;
+        currentLoop[total] = lastMarkNanos - loopStartNanos;
+
+        if (allocationMeter != null) {
+            for (int i = 0; i < total; i++) {
+                totalBytes[i] += currentLoopBytes[i];
+                totalBytes[total] += currentLoopBytes[i];
+            }
+            trackedLoops++;
+        }
+
+        for (int i = 0; i <= total; i++) {
+            samples[i][writeIndex] = currentLoop[i];
+        }
+        writeIndex = (writeIndex + 1) % windowSize;
+        if (filled < windowSize) {
+            filled++;
+        }
+
+        if (currentLoop[total] > budgetNanos) {
+            // blame the stage that ran furthest over its own median, not just the slowest one
+            int worst = 0;
+            long worstExcess = Long.MIN_VALUE;
+            for (int i = 0; i < total; i++) {
+                long excess = currentLoop[i] - stageMedians[i];
+                if (excess > worstExcess) {
+                    worstExcess = excess;
+                    worst = i;
+                }
+            }
+            overrunCounts[worst]++;
+            overrunCounts[total]++;
+            Logger.getInstance().recordOutput("LoopProfiler/OverrunStage", stageName(worst));
+            Logger.getInstance().recordOutput("LoopProfiler/OverrunStageMs", currentLoop[worst] / 1.0e6);
+            Logger.getInstance().recordOutput("LoopProfiler/OverrunLoopMs", currentLoop[total] / 1.0e6);
+        }
+
+        if (++loopsSinceReport >= reportPeriod) {
+            loopsSinceReport = 0;
+            report();
+        }
+    }
+
+    private void report() {
+        Logger logger = Logger.getInstance();
+        for (int i = 0; i <= stages.length; i++) {
+            System.arraycopy(samples[i], 0, sortScratch, 0, filled);
+            Arrays.sort(sortScratch, 0, filled);
+            stageMedians[i] = percentile(0.50);
+            logger.recordOutput(p50Keys[i], stageMedians[i] / 1.0e6);
+            logger.recordOutput(p99Keys[i], percentile(0.99) / 1.0e6);
+            logger.recordOutput(maxKeys[i], sortScratch[filled - 1] / 1.0e6);
+            logger.recordOutput(overrunKeys[i], overrunCounts[i]);
+        }
+    }
+
+    // nearest-rank percentile of the sorted scratch buffer
+    private long percentile(double p) {
+        int index = (int) Math.ceil(p * filled) - 1;
+        return sortScratch[Math.max(0, Math.min(index, filled - 1))];
+    }
+
+    private String stageName(int index) {
+        return index < stages.length ? stages[index].toString() : "Total";
+    }
+}
@@ -0,0 +1,160 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.util;
+
+/**
+ * The last few seconds of robot poses, in parallel primitive arrays used as a ring. Each sample
+ * also gets field-relative speeds from the difference with the one before it. sample finds the
+ * two samples around a time with a binary search and interpolates between them, so a vision
+ * frame can be checked against where the robot thought it was when the image was captured.
+ *
+ * <p>Not thread safe, add and sample from the robot loop.
+ */
+public class PoseHistory {
+    /** One interpolated point, filled in place by sample */
+    public static class Sample {
+        public double timestamp;
+        public double x;
+        public double y;
+        public double theta;
+        // field relative, m/s and rad/s
+        public double vx;
+        public double vy;
+        public double omega;
+    }
+
+    private final double[] timestamps;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] thetas;
+    private final double[] vxs;
+    private final double[] vys;
+    private final double[] omegas;
+    private final int mask;
+
+    // oldest sample and how many there are
+    private int start = 0;
+    private int size = 0;
+
+    /** @param capacity samples kept, rounded up to a power of two */
+    public PoseHistory(int capacity) {
+        int length = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        timestamps = new double[length];
+        xs = new double[length];
+        ys = new double[length];
+        thetas = new double[length];
+        vxs = new double[length];
+        vys = new double[length];
+        omegas = new double[length];
+        mask = length - 1;
+    }
+
+    /** Adds a pose, angles in radians. Samples not newer than the last one are ignored */
+    public void add(double timestamp, double x, double y, double theta) {
+        double vx = 0.0;
+        double vy = 0.0;
+        double omega = 0.0;
+        if (size > 0) {
+            int last = (start + size - 1) & mask;
+            double dt = timestamp - timestamps[last];
+            if (dt <= 0.0) {
+                return;
+            }
+            vx = (x - xs[last]) / dt;
+            vy = (y - ys[last]) / dt;
+            omega = angleDifference(theta, thetas[last]) / dt;
+        }
+
+        int index;
+        if (size <= mask) {
+            index = (start + size) & mask;
+            size++;
+        } else {
+            // full, write over the oldest
+            index = start;
+            start = (start + 1) & mask;
+        }
+        timestamps[index] = timestamp;
+        xs[index] = x;
+        ys[index] = y;
+        thetas[index] = theta;
+        vxs[index] = vx;
+        vys[index] = vy;
+        omegas[index] = omega;
+    }
+
+    public void clear() {
+        start = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** @return the oldest time sample can answer for, NaN when empty */
+    public double getOldestTimestamp() {
+        return size == 0 ? Double.NaN : timestamps[start];
+    }
+
+    public double getNewestTimestamp() {
+        return size == 0 ? Double.NaN : timestamps[(start + size - 1) & mask];
+    }
+
+    /**
+     * Fills out with the pose at timestamp, interpolated between the samples on either side.
+     * Times after the newest sample get the newest sample.
+     *
+     * @return false when the history is empty or timestamp is older than everything in it
+     */
+    public boolean sample(double timestamp, Sample out) {
+        if (size == 0 || timestamp < timestamps[start]) {
+            return false;
+        }
+
+        // last sample at or before timestamp
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (timestamps[(start + middle) & mask] <= timestamp) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        int before = (start + low) & mask;
+        if (low == size - 1) {
+            copy(before, out);
+            out.timestamp = timestamp;
+            return true;
+        }
+        int after = (before + 1) & mask;
+        double t = (timestamp - timestamps[before]) / (timestamps[after] - timestamps[before]);
+        out.timestamp = timestamp;
+        out.x = xs[before] + (xs[after] - xs[before]) * t;
+        out.y = ys[before] + (ys[after] - ys[before]) * t;
+        out.theta = thetas[before] + angleDifference(thetas[after], thetas[before]) * t;
+        out.vx = vxs[before] + (vxs[after] - vxs[before]) * t;
+        out.vy = vys[before] + (vys[after] - vys[before]) * t;
+        out.omega = omegas[before] + (omegas[after] - omegas[before]) * t;
+        return true;
+    }
+
+    private void copy(int index, Sample out) {
+        out.x = xs[index];
+        out.y = ys[index];
+        out.theta = thetas[index];
+        out.vx = vxs[index];
+        out.vy = vys[index];
+        out.omega = omegas[index];
+    }
+
+    // a - b wrapped to [-pi, pi]
+    private static double angleDifference(double a, double b) {
+        return Math.IEEEremainder(a - b, 2.0 * Math.PI);
+    }
+}
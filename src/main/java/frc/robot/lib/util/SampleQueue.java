@@ -0,0 +1,76 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-width records of doubles passed from one producer thread to one consumer thread without
+ * locks. Records are copied into a preallocated ring, so neither side allocates. When the
+ * consumer falls behind and the ring is full, new records are dropped and counted rather than
+ * overwriting ones the consumer may be reading.
+ */
+public class SampleQueue {
+    private final double[] ring;
+    private final int width;
+    private final int mask;
+
+    // records written and records read, each only advanced by its own side
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private volatile long dropped = 0;
+
+    /** @param capacity records held, rounded up to a power of two */
+    public SampleQueue(int capacity, int width) {
+        int length = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.ring = new double[length * width];
+        this.width = width;
+        this.mask = length - 1;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /** Producer side: copies the first width values of record, false if the queue was full */
+    public boolean offer(double[] record) {
+        long slot = published.get();
+        if (slot - consumed.get() > mask) {
+            // single writer, so a plain increment is fine
+            dropped++;
+            return false;
+        }
+        System.arraycopy(record, 0, ring, (int) (slot & mask) * width, width);
+        published.lazySet(slot + 1);
+        return true;
+    }
+
+    /**
+     * Consumer side: copies up to maxRecords records, oldest first, back to back into out.
+     * @return how many records were copied
+     */
+    public int drain(double[] out, int maxRecords) {
+        long next = consumed.get();
+        int count = (int) Math.min(published.get() - next, Math.min(maxRecords, out.length / width));
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(ring, (int) ((next + i) & mask) * width, out, i * width, width);
+        }
+        consumed.lazySet(next + count);
+        return count;
+    }
+
+    /** Consumer side: throws away everything queued */
+    public void clear() {
+        consumed.lazySet(published.get());
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+}
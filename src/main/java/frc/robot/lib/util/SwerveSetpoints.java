@@ -0,0 +1,76 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.util;
+
+import frc.robot.Constants;
+
+/**
+ * Module speeds and angles for the whole drivetrain in preallocated arrays, the primitive
+ * version of ChassisSpeeds to SwerveModuleState[] to CTREModuleState.optimize. Inverse
+ * kinematics, desaturation and optimize all work in place, so the drive path from chassis
+ * speeds to module demands allocates nothing.
+ *
+ * <p>Modules are in module number order, matching Constants.SWERVE.SWERVE_KINEMATICS.
+ * Not thread safe, one instance per caller.
+ */
+public class SwerveSetpoints {
+    public static final int MODULES = 4;
+
+    // module locations from the robot center, same as SWERVE_KINEMATICS
+    private static final double[] MODULE_X = {
+        Constants.SWERVE.WHEEL_BASE / 2.0, Constants.SWERVE.WHEEL_BASE / 2.0,
+        -Constants.SWERVE.WHEEL_BASE / 2.0, -Constants.SWERVE.WHEEL_BASE / 2.0
+    };
+    private static final double[] MODULE_Y = {
+        Constants.SWERVE.TRACK_WIDTH / 2.0, -Constants.SWERVE.TRACK_WIDTH / 2.0,
+        Constants.SWERVE.TRACK_WIDTH / 2.0, -Constants.SWERVE.TRACK_WIDTH / 2.0
+    };
+
+    public final double[] speedsMetersPerSecond = new double[MODULES];
+    public final double[] anglesDegrees = new double[MODULES];
+
+    /** Robot relative speeds, m/s and rad/s */
+    public void fromChassisSpeeds(double vx, double vy, double omega) {
+        // like SwerveDriveKinematics, a stopped robot keeps its module angles
+        if (vx == 0.0 && vy == 0.0 && omega == 0.0) {
+            for (int i = 0; i < MODULES; i++) {
+                speedsMetersPerSecond[i] = 0.0;
+            }
+            return;
+        }
+        for (int i = 0; i < MODULES; i++) {
+            double moduleVx = vx - omega * MODULE_Y[i];
+            double moduleVy = vy + omega * MODULE_X[i];
+            speedsMetersPerSecond[i] = Math.hypot(moduleVx, moduleVy);
+            anglesDegrees[i] = Math.toDegrees(Math.atan2(moduleVy, moduleVx));
+        }
+    }
+
+    /** Field relative speeds, m/s and rad/s, with the robot heading in radians */
+    public void fromFieldRelativeSpeeds(double vx, double vy, double omega, double headingRadians) {
+        double cos = Math.cos(headingRadians);
+        double sin = Math.sin(headingRadians);
+        fromChassisSpeeds(vx * cos + vy * sin, -vx * sin + vy * cos, omega);
+    }
+
+    /** Scales every module down together so none goes faster than maxSpeed */
+    public void desaturate(double maxSpeed) {
+        double fastest = 0.0;
+        for (int i = 0; i < MODULES; i++) {
+            fastest = Math.max(fastest, Math.abs(speedsMetersPerSecond[i]));
+        }
+        if (fastest > maxSpeed) {
+            double scale = maxSpeed / fastest;
+            for (int i = 0; i < MODULES; i++) {
+                speedsMetersPerSecond[i] *= scale;
+            }
+        }
+    }
+
+    /** CTREModuleState.optimize for one module, in place */
+    public void optimize(int module, double currentDegrees) {
+        CTREModuleState.optimize(speedsMetersPerSecond, anglesDegrees, module, currentDegrees);
+    }
+}
@@ -0,0 +1,116 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.util;
+
+import java.util.ArrayList;
+
+import org.littletonrobotics.junction.Logger;
+
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Skips output commands that match the last one sent. IO classes keep one of these per output
+ * and ask shouldWrite before every set call. A command is resent when the mode changes, when a
+ * value moves by more than the given tolerance from what was last sent, or when the keep-alive
+ * period runs out (0 turns keep-alive off). The tolerance is passed per call since one output
+ * can switch between modes with different units. Every instance registers itself, and report logs the
+ * writes sent and skipped per second for each one.
+ */
+public class WriteOnChange {
+    private static final ArrayList<WriteOnChange> channels = new ArrayList<>();
+    private static long lastReportMicros = 0;
+
+    private final long keepAliveMicros;
+
+    private boolean hasWritten = false;
+    private int lastMode = 0;
+    private double lastValue = 0.0;
+    private double lastAux = 0.0;
+    private long lastWriteMicros = 0;
+
+    // counted on whatever thread sends the outputs, read by report on the main loop
+    private volatile long written = 0;
+    private volatile long suppressed = 0;
+    private long reportedWritten = 0;
+    private long reportedSuppressed = 0;
+
+    private final String writesKey;
+    private final String savedKey;
+
+    public WriteOnChange(String name, double keepAliveSeconds) {
+        this.keepAliveMicros = (long) (keepAliveSeconds * 1.0e6);
+        writesKey = "Outputs/" + name + "/WritesPerSec";
+        savedKey = "Outputs/" + name + "/SavedWritesPerSec";
+        synchronized (channels) {
+            channels.add(this);
+        }
+    }
+
+    public boolean shouldWrite(int mode, double value, double tolerance) {
+        return shouldWrite(mode, value, tolerance, 0.0, 0.0);
+    }
+
+    /** @return true if the command should be sent, which also records it as the last one sent */
+    public boolean shouldWrite(int mode, double value, double tolerance, double aux, double auxTolerance) {
+        long now = keepAliveMicros > 0 ? RobotController.getFPGATime() : 0;
+        boolean changed = !hasWritten
+            || mode != lastMode
+            || Math.abs(value - lastValue) > tolerance
+            || Math.abs(aux - lastAux) > auxTolerance
+            || (keepAliveMicros > 0 && now - lastWriteMicros >= keepAliveMicros);
+        if (!changed) {
+            suppressed++;
+            return false;
+        }
+        hasWritten = true;
+        lastMode = mode;
+        lastValue = value;
+        lastAux = aux;
+        lastWriteMicros = now;
+        written++;
+        return true;
+    }
+
+    /** Makes the next command go out no matter what, for when the device may have lost it */
+    public void invalidate() {
+        hasWritten = false;
+    }
+
+    /** Logs writes sent and saved per second since the last report, call about once a second */
+    public static void report() {
+        long now = RobotController.getFPGATime();
+        // the first report only has a start time to measure from
+        double seconds = lastReportMicros > 0 ? (now - lastReportMicros) / 1.0e6 : 0.0;
+        lastReportMicros = now;
+
+        Logger logger = Logger.getInstance();
+        long totalWritten = 0;
+        long totalSuppressed = 0;
+        synchronized (channels) {
+            for (int i = 0; i < channels.size(); i++) {
+                WriteOnChange channel = channels.get(i);
+                long writtenNow = channel.written;
+                long suppressedNow = channel.suppressed;
+                long newWrites = writtenNow - channel.reportedWritten;
+                long newSuppressed = suppressedNow - channel.reportedSuppressed;
+                channel.reportedWritten = writtenNow;
+                channel.reportedSuppressed = suppressedNow;
+                if (seconds <= 0.0) {
+                    continue;
+                }
+
+                logger.recordOutput(channel.writesKey, newWrites / seconds);
+                logger.recordOutput(channel.savedKey, newSuppressed / seconds);
+                totalWritten += newWrites;
+                totalSuppressed += newSuppressed;
+            }
+        }
+        if (seconds <= 0.0) {
+            return;
+        }
+        logger.recordOutput("Outputs/WritesPerSec", totalWritten / seconds);
+        logger.recordOutput("Outputs/SavedWritesPerSec", totalSuppressed / seconds);
+    }
+}
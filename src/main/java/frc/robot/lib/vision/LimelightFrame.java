@@ -0,0 +1,82 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.vision;
+
+/**
+ * The parts of a Limelight JSON result the robot uses, in fields that are overwritten on every
+ * parse so one instance can be reused forever. Field names follow LimelightHelpers.Results.
+ */
+public class LimelightFrame {
+    // more tags than this in one frame are counted but not stored
+    public static final int MAX_FIDUCIALS = 16;
+    public static final int POSE_LENGTH = 6;
+
+    /** false until a parse succeeds, and after one fails */
+    public boolean parsed = false;
+
+    public boolean valid = false;
+    public double pipelineID = 0.0;
+    public double latency_pipeline = 0.0;
+    public double latency_capture = 0.0;
+    public double latency_jsonParse = 0.0;
+    public double timestamp_LIMELIGHT_publish = 0.0;
+    public double timestamp_RIOFPGA_capture = 0.0;
+    // FPGA seconds the JSON arrived, set by LimelightIngest rather than parsed
+    public double timestamp_RIO_receive = 0.0;
+
+    public final double[] botpose_wpiblue = new double[POSE_LENGTH];
+    // entries actually present in the JSON, toPose2D-style checks want at least 6
+    public int botpose_wpiblueLength = 0;
+
+    public int fiducialCount = 0;
+    public final int[] fiducialIDs = new int[MAX_FIDUCIALS];
+    // t6t_cs, the tag's pose in camera space
+    public final double[][] targetPose_CameraSpace = new double[MAX_FIDUCIALS][POSE_LENGTH];
+    // ta, fraction of the image the tag covers
+    public final double[] targetArea = new double[MAX_FIDUCIALS];
+
+    // set by LimelightPoseFilter when the frame is accepted
+    public double averageTagDistance = 0.0;
+    public double stdDevXY = 0.0;
+    public double stdDevTheta = 0.0;
+
+    public void reset() {
+        parsed = false;
+        valid = false;
+        pipelineID = 0.0;
+        latency_pipeline = 0.0;
+        latency_capture = 0.0;
+        timestamp_LIMELIGHT_publish = 0.0;
+        timestamp_RIOFPGA_capture = 0.0;
+        timestamp_RIO_receive = 0.0;
+        for (int i = 0; i < POSE_LENGTH; i++) {
+            botpose_wpiblue[i] = 0.0;
+        }
+        botpose_wpiblueLength = 0;
+        fiducialCount = 0;
+        averageTagDistance = 0.0;
+        stdDevXY = 0.0;
+        stdDevTheta = 0.0;
+    }
+
+    /** @return true if botpose_wpiblue is all zeros, which is what the Limelight sends with no pose */
+    public boolean isBotPoseEmpty() {
+        for (int i = 0; i < POSE_LENGTH; i++) {
+            if (Math.abs(botpose_wpiblue[i]) >= 1.0E-10) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return FPGA seconds the image was captured, from the arrival time and the reported latencies */
+    public double getCaptureTimestampSeconds() {
+        return timestamp_RIO_receive - (latency_pipeline / 1000.0) - (latency_capture / 1000.0);
+    }
+
+    public int storedFiducials() {
+        return Math.min(fiducialCount, MAX_FIDUCIALS);
+    }
+}
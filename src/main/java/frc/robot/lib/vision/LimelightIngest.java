@@ -0,0 +1,230 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.vision;
+
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.littletonrobotics.junction.Logger;
+
+import edu.wpi.first.networktables.NetworkTableEvent;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.PubSubOption;
+import edu.wpi.first.networktables.StringSubscriber;
+
+/**
+ * Receives a Limelight's JSON results as they're published instead of polling for them. One
+ * subscriber on the json topic is made up front, and a NetworkTables listener parses each new
+ * value on the listener thread into a preallocated frame. Frames are keyed by the Limelight's ts,
+ * so a value NetworkTables delivers twice (on reconnect, say) is only processed once. Parsed
+ * frames wait in a small queue that the robot loop drains with poll, so a loop with no new frame
+ * does nothing but compare two counters.
+ *
+ * <p>An optional Filter also runs on the listener thread, so frames the pose estimator would
+ * reject never reach the robot loop. When the loop falls behind and the queue is full, new
+ * frames are dropped and counted.
+ *
+ * <p>Whoever takes frames off the queue may still turn them down (VisionPipeline checks them
+ * against odometry), so a frame only counts as accepted once the consumer says so with
+ * countAccepted, and turning one down is counted with countRejected.
+ */
+public class LimelightIngest {
+    /** Decides on the listener thread whether a parsed frame is worth queueing */
+    public interface Filter {
+        boolean accept(LimelightFrame frame);
+    }
+
+    private final String name;
+    private final Filter filter;
+    private final StringSubscriber subscriber;
+    private final int listenerHandle;
+    private final LimelightJsonParser parser = new LimelightJsonParser();
+
+    // single producer (the listener thread), single consumer (the robot loop)
+    private final LimelightFrame[] frames;
+    private final int mask;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private boolean holding = false;
+
+    // only the listener thread writes these
+    private double lastTimestamp = Double.NaN;
+    private volatile long received = 0;
+    private volatile long duplicates = 0;
+    private volatile long dropped = 0;
+    private volatile long parseErrors = 0;
+    private volatile long rejected = 0;
+    private volatile double lastParseMs = 0.0;
+
+    // robot loop only, frames the consumer used or turned down after taking them
+    private long accepted = 0;
+    private long rejectedAfterPoll = 0;
+    private long latencySumMicros = 0;
+
+    // robot loop only, totals at the last report
+    private long reportedAccepted = 0;
+    private long reportedRejected = 0;
+    private long reportedLatencySumMicros = 0;
+
+    private final String framesKey;
+    private final String duplicatesKey;
+    private final String droppedKey;
+    private final String parseErrorsKey;
+    private final String parseMsKey;
+    private final String acceptanceKey;
+    private final String latencyKey;
+
+    public LimelightIngest(String name, int capacity) {
+        this(name, capacity, frame -> true);
+    }
+
+    /** @param capacity frames held between polls, rounded up to a power of two */
+    public LimelightIngest(String name, int capacity, Filter filter) {
+        this.name = name;
+        this.filter = filter;
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        frames = new LimelightFrame[size];
+        for (int i = 0; i < size; i++) {
+            frames[i] = new LimelightFrame();
+        }
+        mask = size - 1;
+
+        framesKey = "Vision/" + name + "/Frames";
+        duplicatesKey = "Vision/" + name + "/Duplicates";
+        droppedKey = "Vision/" + name + "/Dropped";
+        parseErrorsKey = "Vision/" + name + "/ParseErrors";
+        parseMsKey = "Vision/" + name + "/ParseMs";
+        acceptanceKey = "Vision/" + name + "/AcceptanceRate";
+        latencyKey = "Vision/" + name + "/LatencyMs";
+
+        NetworkTableInstance nt = NetworkTableInstance.getDefault();
+        subscriber = nt.getTable(name)
+            .getStringTopic("json")
+            .subscribe("", PubSubOption.sendAll(true), PubSubOption.keepDuplicates(true));
+        listenerHandle = nt.addListener(subscriber, EnumSet.of(NetworkTableEvent.Kind.kValueAll), this::onValue);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // NetworkTables listener thread
+    private void onValue(NetworkTableEvent event) {
+        if (event.valueData == null) {
+            return;
+        }
+        received++;
+
+        long slot = published.get();
+        if (slot - consumed.get() > mask) {
+            dropped++;
+            return;
+        }
+
+        LimelightFrame frame = frames[(int) (slot & mask)];
+        long start = System.nanoTime();
+        boolean ok = parser.parse(event.valueData.value.getString(), frame);
+        lastParseMs = (System.nanoTime() - start) * .000001;
+        if (!ok) {
+            parseErrors++;
+            return;
+        }
+        if (frame.timestamp_LIMELIGHT_publish == lastTimestamp) {
+            duplicates++;
+            return;
+        }
+        lastTimestamp = frame.timestamp_LIMELIGHT_publish;
+        frame.latency_jsonParse = lastParseMs;
+        // NetworkTables value times are microseconds on the FPGA clock
+        frame.timestamp_RIO_receive = event.valueData.value.getTime() / 1.0e6;
+
+        if (!filter.accept(frame)) {
+            rejected++;
+            return;
+        }
+        published.lazySet(slot + 1);
+    }
+
+    /**
+     * Returns the oldest unprocessed frame without taking it, or null when there's nothing new.
+     * Hands back the frame poll last returned. Call from the robot loop only.
+     */
+    public LimelightFrame peek() {
+        long next = consumed.get();
+        if (holding) {
+            next++;
+            consumed.lazySet(next);
+            holding = false;
+        }
+        if (next == published.get()) {
+            return null;
+        }
+        return frames[(int) (next & mask)];
+    }
+
+    /**
+     * Takes the oldest unprocessed frame, or null when there's nothing new. The frame stays valid
+     * until the next call to peek, poll or skipAll, which hand its slot back to the listener.
+     * Call from the robot loop only.
+     */
+    public LimelightFrame poll() {
+        LimelightFrame frame = peek();
+        holding = frame != null;
+        return frame;
+    }
+
+    /** Counts a frame from poll as accepted, once nothing else can turn it down. Robot loop only. */
+    public void countAccepted(LimelightFrame frame) {
+        // capture to publish on the camera, for accepted frames only
+        latencySumMicros += (long) ((frame.latency_pipeline + frame.latency_capture) * 1000.0);
+        accepted++;
+    }
+
+    /** Counts a frame from poll that the consumer turned down. Robot loop only. */
+    public void countRejected() {
+        rejectedAfterPoll++;
+    }
+
+    /** Throws away everything queued, for when frames arrive but nothing wants them */
+    public void skipAll() {
+        holding = false;
+        consumed.lazySet(published.get());
+    }
+
+    /**
+     * Logs totals since start, plus the acceptance rate and mean camera latency since the last
+     * report. Frames rejected by the filter or by the consumer both count against the rate,
+     * frames thrown away by skipAll count for neither. Call from the robot loop.
+     */
+    public void report() {
+        long acceptedNow = accepted;
+        long rejectedNow = rejected + rejectedAfterPoll;
+        long latencyNow = latencySumMicros;
+        long newAccepted = acceptedNow - reportedAccepted;
+        long newRejected = rejectedNow - reportedRejected;
+        long newLatency = latencyNow - reportedLatencySumMicros;
+        reportedAccepted = acceptedNow;
+        reportedRejected = rejectedNow;
+        reportedLatencySumMicros = latencyNow;
+
+        Logger logger = Logger.getInstance();
+        if (newAccepted + newRejected > 0) {
+            logger.recordOutput(acceptanceKey, (double) newAccepted / (newAccepted + newRejected));
+        }
+        if (newAccepted > 0) {
+            logger.recordOutput(latencyKey, newLatency / 1000.0 / newAccepted);
+        }
+        logger.recordOutput(framesKey, received);
+        logger.recordOutput(duplicatesKey, duplicates);
+        logger.recordOutput(droppedKey, dropped);
+        logger.recordOutput(parseErrorsKey, parseErrors);
+        logger.recordOutput(parseMsKey, lastParseMs);
+    }
+
+    public void close() {
+        NetworkTableInstance.getDefault().removeListener(listenerHandle);
+        subscriber.close();
+    }
+}
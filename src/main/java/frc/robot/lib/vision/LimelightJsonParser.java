@@ -0,0 +1,339 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.vision;
+
+import java.util.Arrays;
+
+/**
+ * Reads a Limelight JSON dump straight into a LimelightFrame without building a tree. Keys are
+ * compared in place, numbers are parsed from the characters without substrings, and every
+ * section the robot doesn't use (Classifier, Detector, Retro, the red and field-space poses...)
+ * is skipped by matching brackets. Nothing is allocated per parse.
+ *
+ * <p>Numbers are rebuilt from a long mantissa and a power of ten, which can differ from
+ * Double.parseDouble in the last bit. That's far below anything the Limelight measures.
+ *
+ * <p>Not thread safe, use one parser per thread.
+ */
+public class LimelightJsonParser {
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    private String json;
+    private int pos;
+    private int end;
+
+    // start and length of the last key read, compared in place
+    private int keyStart;
+    private int keyLength;
+
+    /**
+     * @return false if the JSON was cut short or malformed, the frame is reset and left unparsed
+     */
+    public boolean parse(String input, LimelightFrame frame) {
+        frame.reset();
+        if (input == null) {
+            return false;
+        }
+        json = input;
+        pos = 0;
+        end = input.length();
+        try {
+            if (!consume('{')) {
+                return false;
+            }
+            if (!consume('}')) {
+                do {
+                    readKey();
+                    if (keyIs("Results")) {
+                        if (!parseResults(frame)) {
+                            frame.reset();
+                            return false;
+                        }
+                    } else {
+                        skipValue();
+                    }
+                } while (consume(','));
+                if (!consume('}')) {
+                    frame.reset();
+                    return false;
+                }
+            }
+            frame.parsed = true;
+            return true;
+        } catch (IndexOutOfBoundsException | IllegalStateException e) {
+            frame.reset();
+            return false;
+        } finally {
+            json = null;
+        }
+    }
+
+    private boolean parseResults(LimelightFrame frame) {
+        if (!consume('{')) {
+            return false;
+        }
+        if (consume('}')) {
+            return true;
+        }
+        do {
+            readKey();
+            if (keyIs("botpose_wpiblue")) {
+                frame.botpose_wpiblueLength = readDoubles(frame.botpose_wpiblue);
+            } else if (keyIs("Fiducial")) {
+                parseFiducials(frame);
+            } else if (keyIs("tl")) {
+                frame.latency_pipeline = readNumber();
+            } else if (keyIs("cl")) {
+                frame.latency_capture = readNumber();
+            } else if (keyIs("ts")) {
+                frame.timestamp_LIMELIGHT_publish = readNumber();
+            } else if (keyIs("ts_rio")) {
+                frame.timestamp_RIOFPGA_capture = readNumber();
+            } else if (keyIs("pID")) {
+                frame.pipelineID = readNumber();
+            } else if (keyIs("v")) {
+                frame.valid = readFlag();
+            } else {
+                skipValue();
+            }
+        } while (consume(','));
+        return consume('}');
+    }
+
+    private void parseFiducials(LimelightFrame frame) {
+        require('[');
+        if (consume(']')) {
+            return;
+        }
+        do {
+            int index = frame.fiducialCount++;
+            boolean stored = index < LimelightFrame.MAX_FIDUCIALS;
+            if (stored) {
+                // anything the Limelight leaves out reads as missing rather than last frame's value
+                frame.fiducialIDs[index] = -1;
+                frame.targetArea[index] = 0.0;
+                Arrays.fill(frame.targetPose_CameraSpace[index], 0.0);
+            }
+            require('{');
+            if (!consume('}')) {
+                do {
+                    readKey();
+                    if (stored && keyIs("fID")) {
+                        frame.fiducialIDs[index] = (int) readNumber();
+                    } else if (stored && keyIs("t6t_cs")) {
+                        readDoubles(frame.targetPose_CameraSpace[index]);
+                    } else if (stored && keyIs("ta")) {
+                        frame.targetArea[index] = readNumber();
+                    } else {
+                        skipValue();
+                    }
+                } while (consume(','));
+                require('}');
+            }
+        } while (consume(','));
+        require(']');
+    }
+
+    // fills as much of out as fits and skips the rest, returns how many entries the array had
+    private int readDoubles(double[] out) {
+        require('[');
+        int count = 0;
+        if (consume(']')) {
+            return 0;
+        }
+        do {
+            double value = readNumber();
+            if (count < out.length) {
+                out[count] = value;
+            }
+            count++;
+        } while (consume(','));
+        require(']');
+        return count;
+    }
+
+    private boolean readFlag() {
+        skipWhitespace();
+        char c = json.charAt(pos);
+        if (c == 't' || c == 'f') {
+            skipValue();
+            return c == 't';
+        }
+        return readNumber() != 0.0;
+    }
+
+    private double readNumber() {
+        skipWhitespace();
+        boolean negative = false;
+        char c = json.charAt(pos);
+        if (c == '-') {
+            negative = true;
+            pos++;
+        } else if (c == 'n') {
+            // null
+            skipValue();
+            return 0.0;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        while (pos < end && (c = json.charAt(pos)) >= '0' && c <= '9') {
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+            } else {
+                exponent++;
+            }
+            any = true;
+            pos++;
+        }
+        if (pos < end && json.charAt(pos) == '.') {
+            pos++;
+            while (pos < end && (c = json.charAt(pos)) >= '0' && c <= '9') {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    exponent--;
+                }
+                any = true;
+                pos++;
+            }
+        }
+        if (!any) {
+            throw new IllegalStateException();
+        }
+        if (pos < end && ((c = json.charAt(pos)) == 'e' || c == 'E')) {
+            pos++;
+            boolean negativeExponent = false;
+            c = json.charAt(pos);
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                pos++;
+            }
+            int written = 0;
+            boolean expDigits = false;
+            while (pos < end && (c = json.charAt(pos)) >= '0' && c <= '9') {
+                if (written < 10000) {
+                    written = written * 10 + (c - '0');
+                }
+                expDigits = true;
+                pos++;
+            }
+            if (!expDigits) {
+                throw new IllegalStateException();
+            }
+            exponent += negativeExponent ? -written : written;
+        }
+
+        double value = mantissa;
+        if (exponent != 0 && mantissa != 0) {
+            if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+                value /= POWERS_OF_TEN[-exponent];
+            } else if (exponent > 0 && exponent < POWERS_OF_TEN.length) {
+                value *= POWERS_OF_TEN[exponent];
+            } else {
+                value *= Math.pow(10.0, exponent);
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    private void readKey() {
+        skipWhitespace();
+        require('"');
+        keyStart = pos;
+        while (json.charAt(pos) != '"') {
+            if (json.charAt(pos) == '\\') {
+                pos++;
+            }
+            pos++;
+        }
+        keyLength = pos - keyStart;
+        pos++;
+        require(':');
+    }
+
+    private boolean keyIs(String name) {
+        return keyLength == name.length() && json.regionMatches(keyStart, name, 0, keyLength);
+    }
+
+    private void skipValue() {
+        skipWhitespace();
+        char c = json.charAt(pos);
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = json.charAt(pos);
+                if (c == '"') {
+                    skipString();
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                pos++;
+            } while (depth > 0);
+        } else if (c == '"') {
+            skipString();
+        } else {
+            // number, true, false or null
+            while (pos < end && (c = json.charAt(pos)) != ',' && c != '}' && c != ']' && !isWhitespace(c)) {
+                pos++;
+            }
+        }
+    }
+
+    // pos is on the opening quote, leaves it after the closing one
+    private void skipString() {
+        pos++;
+        while (json.charAt(pos) != '"') {
+            if (json.charAt(pos) == '\\') {
+                pos++;
+            }
+            pos++;
+        }
+        pos++;
+    }
+
+    private boolean consume(char c) {
+        skipWhitespace();
+        if (pos < end && json.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void require(char c) {
+        if (!consume(c)) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
@@ -0,0 +1,104 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.vision;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.littletonrobotics.junction.Logger;
+
+import frc.robot.Constants;
+
+/**
+ * Decides whether one camera's botpose is good enough for the pose estimator and how much to
+ * trust it. Runs on the NetworkTables listener thread as the camera's LimelightIngest.Filter.
+ *
+ * <p>Frames are rejected with no pose, no tags, or a single tag that's too small, since the
+ * Limelight doesn't report how ambiguous a single-tag solve was, then go through the field and
+ * distance checks in VisionPoseModel, which also gives accepted frames their standard deviations.
+ * VisionPipeline checks frames against odometry at capture time and counts those rejections here.
+ */
+public class LimelightPoseFilter implements LimelightIngest.Filter {
+    public enum Reason {
+        NO_POSE, NO_TAGS, OFF_FIELD, TOO_FAR, AMBIGUOUS, ODOMETRY_MISMATCH
+    }
+
+    private static final Reason[] REASONS = Reason.values();
+
+    private final AtomicLongArray rejections = new AtomicLongArray(REASONS.length);
+    private final String[] rejectionKeys = new String[REASONS.length];
+
+    public LimelightPoseFilter(String cameraName) {
+        for (int i = 0; i < REASONS.length; i++) {
+            rejectionKeys[i] = "Vision/" + cameraName + "/Rejected/" + REASONS[i];
+        }
+    }
+
+    @Override
+    public boolean accept(LimelightFrame frame) {
+        Reason reason = evaluate(frame);
+        if (reason != null) {
+            rejections.incrementAndGet(reason.ordinal());
+            return false;
+        }
+        return true;
+    }
+
+    private Reason evaluate(LimelightFrame frame) {
+        if (frame.botpose_wpiblueLength < LimelightFrame.POSE_LENGTH || frame.isBotPoseEmpty()) {
+            return Reason.NO_POSE;
+        }
+        int tags = frame.storedFiducials();
+        if (tags == 0) {
+            return Reason.NO_TAGS;
+        }
+
+        double x = frame.botpose_wpiblue[0];
+        double y = frame.botpose_wpiblue[1];
+        double z = frame.botpose_wpiblue[2];
+
+        if (!VisionPoseModel.isOnField(x, y, z)) {
+            return Reason.OFF_FIELD;
+        }
+
+        double distanceSum = 0.0;
+        for (int i = 0; i < tags; i++) {
+            if (frame.fiducialIDs[i] < 0) {
+                return Reason.NO_TAGS;
+            }
+            double[] tag = frame.targetPose_CameraSpace[i];
+            distanceSum += Math.sqrt(tag[0] * tag[0] + tag[1] * tag[1] + tag[2] * tag[2]);
+        }
+        double distance = distanceSum / tags;
+
+        if (VisionPoseModel.isTooFar(distance, tags)) {
+            return Reason.TOO_FAR;
+        }
+        if (tags == 1 && frame.targetArea[0] < Constants.LIMELIGHT.MIN_SINGLE_TAG_AREA) {
+            return Reason.AMBIGUOUS;
+        }
+
+        frame.averageTagDistance = distance;
+        frame.stdDevXY = VisionPoseModel.stdDevXY(distance, tags);
+        frame.stdDevTheta = VisionPoseModel.stdDevTheta(distance, tags);
+        return null;
+    }
+
+    /** Counts a rejection made after the filter, safe from any thread */
+    public void countRejection(Reason reason) {
+        rejections.incrementAndGet(reason.ordinal());
+    }
+
+    public long getRejections(Reason reason) {
+        return rejections.get(reason.ordinal());
+    }
+
+    /** Logs rejection totals by reason, call from the robot loop */
+    public void report() {
+        Logger logger = Logger.getInstance();
+        for (int i = 0; i < REASONS.length; i++) {
+            logger.recordOutput(rejectionKeys[i], rejections.get(i));
+        }
+    }
+}
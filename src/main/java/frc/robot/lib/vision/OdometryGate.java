@@ -0,0 +1,54 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.vision;
+
+import org.littletonrobotics.junction.Logger;
+
+import frc.robot.Constants;
+import frc.robot.lib.util.PoseHistory;
+
+/**
+ * Compares vision poses against odometry at their capture time, for each camera of one vision
+ * source. The difference is logged, and single-tag poses that disagree by too much are dropped
+ * unless enough in a row from that camera have been, in which case odometry is probably what's
+ * wrong. Multi-tag poses are trusted to correct odometry rather than be checked against it.
+ * Robot loop only.
+ */
+public class OdometryGate {
+    private final String[] errorKeys;
+    private final int[] consecutiveMismatches;
+    private final PoseHistory.Sample odometry = new PoseHistory.Sample();
+    private PoseHistory history = null;
+
+    /** @param errorKeys where each camera's distance from odometry is logged */
+    public OdometryGate(String[] errorKeys) {
+        this.errorKeys = errorKeys;
+        consecutiveMismatches = new int[errorKeys.length];
+    }
+
+    /** Odometry to check poses against, null to stop checking */
+    public void setPoseHistory(PoseHistory history) {
+        this.history = history;
+    }
+
+    /** @return false if the pose should be dropped */
+    public boolean agrees(int camera, double timestamp, double x, double y, int tags) {
+        // older than the history means there's nothing to check against
+        if (history == null || !history.sample(timestamp, odometry)) {
+            return true;
+        }
+        double error = Math.hypot(x - odometry.x, y - odometry.y);
+        Logger.getInstance().recordOutput(errorKeys[camera], error);
+
+        if (tags > 1
+                || error <= Constants.VISION.MAX_SINGLE_TAG_ODOMETRY_ERROR_METERS
+                || consecutiveMismatches[camera] >= Constants.VISION.MAX_CONSECUTIVE_ODOMETRY_REJECTIONS) {
+            consecutiveMismatches[camera] = 0;
+            return true;
+        }
+        consecutiveMismatches[camera]++;
+        return false;
+    }
+}
@@ -0,0 +1,98 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.vision;
+
+import frc.robot.lib.util.PoseHistory;
+
+/**
+ * Every Limelight on the robot, each with its own ingest and filter. Parsing and filtering
+ * happen on the NetworkTables listener thread as frames arrive, so all the robot loop does is
+ * poll accepted frames, which come out oldest capture first across all cameras so the pose
+ * estimator sees measurements in order.
+ *
+ * <p>With a PoseHistory set, poll also puts each frame through an OdometryGate.
+ */
+public class VisionPipeline {
+    private final LimelightIngest[] cameras;
+    private final LimelightPoseFilter[] filters;
+
+    private final OdometryGate odometryGate;
+
+    /** @param capacity frames each camera holds between polls */
+    public VisionPipeline(String[] names, int capacity) {
+        cameras = new LimelightIngest[names.length];
+        filters = new LimelightPoseFilter[names.length];
+        String[] odometryErrorKeys = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            filters[i] = new LimelightPoseFilter(names[i]);
+            cameras[i] = new LimelightIngest(names[i], capacity, filters[i]);
+            odometryErrorKeys[i] = "Vision/" + names[i] + "/OdometryErrorMeters";
+        }
+        odometryGate = new OdometryGate(odometryErrorKeys);
+    }
+
+    /** Odometry to check frames against, null to stop checking */
+    public void setPoseHistory(PoseHistory history) {
+        odometryGate.setPoseHistory(history);
+    }
+
+    public int getCameraCount() {
+        return cameras.length;
+    }
+
+    public LimelightIngest getCamera(int index) {
+        return cameras[index];
+    }
+
+    /**
+     * Takes the accepted frame with the earliest capture time from any camera, or null when
+     * there's nothing new. The frame stays valid until the next call. Robot loop only.
+     */
+    public LimelightFrame poll() {
+        while (true) {
+            int oldest = -1;
+            double oldestTime = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < cameras.length; i++) {
+                LimelightFrame frame = cameras[i].peek();
+                if (frame != null && frame.getCaptureTimestampSeconds() < oldestTime) {
+                    oldest = i;
+                    oldestTime = frame.getCaptureTimestampSeconds();
+                }
+            }
+            if (oldest < 0) {
+                return null;
+            }
+            LimelightFrame frame = cameras[oldest].poll();
+            if (agreesWithOdometry(oldest, frame)) {
+                cameras[oldest].countAccepted(frame);
+                return frame;
+            }
+            cameras[oldest].countRejected();
+        }
+    }
+
+    private boolean agreesWithOdometry(int camera, LimelightFrame frame) {
+        if (odometryGate.agrees(camera, frame.getCaptureTimestampSeconds(),
+                frame.botpose_wpiblue[0], frame.botpose_wpiblue[1], frame.fiducialCount)) {
+            return true;
+        }
+        filters[camera].countRejection(LimelightPoseFilter.Reason.ODOMETRY_MISMATCH);
+        return false;
+    }
+
+    /** Throws away everything queued on every camera */
+    public void skipAll() {
+        for (LimelightIngest camera : cameras) {
+            camera.skipAll();
+        }
+    }
+
+    public void report() {
+        for (int i = 0; i < cameras.length; i++) {
+            cameras[i].report();
+            filters[i].report();
+        }
+    }
+}
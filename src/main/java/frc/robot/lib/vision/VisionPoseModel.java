@@ -0,0 +1,44 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.lib.vision;
+
+import frc.robot.Constants;
+
+/**
+ * The checks every vision pose goes through before the pose estimator, and how much it's
+ * trusted after, the same for the Limelights and PhotonVision so tuning one tunes both. Poses
+ * off the field or from tags too far away are rejected. Standard deviations grow with the square
+ * of the average tag distance and shrink with the tag count, and heading from a single tag is
+ * left to the gyro. Constants are in Constants.VISION.
+ */
+public final class VisionPoseModel {
+    private VisionPoseModel() {}
+
+    /** @return true if the pose is on the field, within the margin, and on the floor */
+    public static boolean isOnField(double x, double y, double z) {
+        double margin = Constants.VISION.FIELD_MARGIN_METERS;
+        return x >= -margin && x <= Constants.VISION.FIELD_LENGTH_METERS + margin
+            && y >= -margin && y <= Constants.VISION.FIELD_WIDTH_METERS + margin
+            && Math.abs(z) <= Constants.VISION.MAX_POSE_Z_METERS;
+    }
+
+    /** @return true if the tags are too far away on average to solve well */
+    public static boolean isTooFar(double averageDistance, int tags) {
+        return averageDistance > (tags == 1
+            ? Constants.VISION.MAX_SINGLE_TAG_DISTANCE_METERS
+            : Constants.VISION.MAX_MULTI_TAG_DISTANCE_METERS);
+    }
+
+    public static double stdDevXY(double averageDistance, int tags) {
+        return Math.max(Constants.VISION.MIN_XY_STD_DEV,
+            Constants.VISION.XY_STD_DEV_PER_METER_SQUARED * averageDistance * averageDistance / tags);
+    }
+
+    public static double stdDevTheta(double averageDistance, int tags) {
+        return tags == 1
+            ? Constants.VISION.SINGLE_TAG_THETA_STD_DEV
+            : Constants.VISION.THETA_STD_DEV_PER_METER_SQUARED * averageDistance * averageDistance / tags;
+    }
+}
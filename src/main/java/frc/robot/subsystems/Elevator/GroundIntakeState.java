@@ -7,6 +7,7 @@ import frc.robot.Constants;
 import frc.robot.RobotMap;
 import frc.robot.lib.statemachine.State;
 import frc.robot.lib.statemachine.Transition;
+import frc.robot.lib.util.InputSnapshot;
 import frc.robot.subsystems.LED.LEDStateMachine;
 
 /** Add your docs here. */
@@ -16,28 +17,28 @@ public class GroundIntakeState extends State {
     public void build() {
         //Transition
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
-        }, ElevatorStateMachine.idleState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
+        }, ElevatorStateMachine.idleState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.IDLE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
-        }, ElevatorStateMachine.scoreLowState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
+        }, ElevatorStateMachine.scoreLowState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON)));
         
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
-        }, ElevatorStateMachine.scoreHighState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
+        }, ElevatorStateMachine.scoreHighState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
-        }, ElevatorStateMachine.manualState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
+        }, ElevatorStateMachine.manualState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
-        }, ElevatorStateMachine.scoreMidState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
+        }, ElevatorStateMachine.scoreMidState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.MID_SCORE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
-        }, ElevatorStateMachine.substationIntakeState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
+        }, ElevatorStateMachine.substationIntakeState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON)));
     }
     
     @Override
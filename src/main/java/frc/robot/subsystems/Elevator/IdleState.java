@@ -10,6 +10,7 @@ import frc.robot.Constants;
 import frc.robot.RobotMap;
 import frc.robot.lib.statemachine.State;
 import frc.robot.lib.statemachine.Transition;
+import frc.robot.lib.util.InputSnapshot;
 
 /** Add your docs here. */
 public class IdleState extends State{
@@ -17,20 +18,20 @@ public class IdleState extends State{
     @Override
     public void build() {
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
-        }, ElevatorStateMachine.scoreHighState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
+        }, ElevatorStateMachine.scoreHighState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
-        }, ElevatorStateMachine.scoreLowState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
+        }, ElevatorStateMachine.scoreLowState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON)));
         
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
-        }, ElevatorStateMachine.scoreMidState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
+        }, ElevatorStateMachine.scoreMidState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.MID_SCORE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
-        }, ElevatorStateMachine.manualState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
+        }, ElevatorStateMachine.manualState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON)));
     }
     
     @Override
@@ -8,6 +8,7 @@ import frc.robot.Constants;
 import frc.robot.RobotMap;
 import frc.robot.lib.statemachine.State;
 import frc.robot.lib.statemachine.Transition;
+import frc.robot.lib.util.InputSnapshot;
 
 /** Add your docs here. */
 public class ManualState extends State{
@@ -16,20 +17,20 @@ public class ManualState extends State{
         public void build() {
        //Transitions
        transitions.add(new Transition(() -> {
-        return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
-    }, ElevatorStateMachine.idleState));
+        return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
+    }, ElevatorStateMachine.idleState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.IDLE_BUTTON)));
 
     transitions.add(new Transition(() -> {
-        return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
-    }, ElevatorStateMachine.scoreLowState));
+        return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
+    }, ElevatorStateMachine.scoreLowState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON)));
     
     transitions.add(new Transition(() -> {
-        return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
-    }, ElevatorStateMachine.scoreMidState));
+        return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
+    }, ElevatorStateMachine.scoreMidState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.MID_SCORE_BUTTON)));
 
     transitions.add(new Transition(() -> {
-        return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
-    }, ElevatorStateMachine.scoreHighState));
+        return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
+    }, ElevatorStateMachine.scoreHighState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON)));
         }
     
         @Override
@@ -39,7 +40,7 @@ public class ManualState extends State{
     
         @Override
         public void execute() {
-            double translationVal = RobotMap.manipulatorController.getLeftY();
+            double translationVal = RobotMap.inputs.manipulator.getLeftY();
             if (translationVal < 0) {
             RobotMap.elevator.manualDrive(RobotMap.elevator.applyDeadband(-1.0 * translationVal) * 0.5);
             } else {
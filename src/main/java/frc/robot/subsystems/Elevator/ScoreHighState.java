@@ -11,6 +11,7 @@ import org.littletonrobotics.junction.Logger;
 import frc.robot.Constants;
 import frc.robot.RobotMap;
 import frc.robot.lib.statemachine.Transition;
+import frc.robot.lib.util.InputSnapshot;
 import frc.robot.subsystems.LED.LEDStateMachine;
 
 /** Add your docs here. */
@@ -20,20 +21,20 @@ public class ScoreHighState extends State {
     public void build() {
         //Transitions
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
-        }, ElevatorStateMachine.idleState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
+        }, ElevatorStateMachine.idleState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.IDLE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
-        }, ElevatorStateMachine.scoreLowState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
+        }, ElevatorStateMachine.scoreLowState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON)));
         
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
-        }, ElevatorStateMachine.scoreMidState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
+        }, ElevatorStateMachine.scoreMidState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.MID_SCORE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
-        }, ElevatorStateMachine.manualState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
+        }, ElevatorStateMachine.manualState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON)));
             
     }
     
@@ -8,6 +8,7 @@ import frc.robot.Constants;
 import frc.robot.RobotMap;
 import frc.robot.lib.statemachine.State;
 import frc.robot.lib.statemachine.Transition;
+import frc.robot.lib.util.InputSnapshot;
 import frc.robot.subsystems.LED.LEDStateMachine;
 
 /** Add your docs here. */
@@ -17,20 +18,20 @@ public class ScoreMidState extends State {
     public void build() {
         //Transition
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
-        }, ElevatorStateMachine.idleState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
+        }, ElevatorStateMachine.idleState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.IDLE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
-        }, ElevatorStateMachine.scoreLowState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
+        }, ElevatorStateMachine.scoreLowState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON)));
         
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
-        }, ElevatorStateMachine.scoreHighState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
+        }, ElevatorStateMachine.scoreHighState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
-        }, ElevatorStateMachine.manualState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
+        }, ElevatorStateMachine.manualState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON)));
     }
     
     @Override
@@ -19,12 +19,13 @@ public class ConeLEDState extends State {
 
     @Override
     public void execute() {
-        LED.m_candle.setLEDs(255, 228, 0);
+        LED.setGamePiece(LED.CONE);
     }
 
     @Override
     public void exit(State nextState) {
         LED.m_toAnimate = null;
         LED.m_candle.animate(LED.m_toAnimate);
+        LED.invalidate();
     }
 }
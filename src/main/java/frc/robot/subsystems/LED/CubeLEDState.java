@@ -19,7 +19,7 @@ public class CubeLEDState extends State {
 
     @Override
     public void execute() {
-        LED.m_candle.setLEDs(174, 0, 255);
+        LED.setGamePiece(LED.CUBE);
     }
 
     @Override
@@ -8,6 +8,7 @@ import frc.robot.Constants;
 import frc.robot.RobotMap;
 import frc.robot.lib.statemachine.State;
 import frc.robot.lib.statemachine.Transition;
+import frc.robot.lib.util.InputSnapshot;
 
 /** Add your docs here. */
 public class ManualState extends State{
@@ -16,28 +17,28 @@ public class ManualState extends State{
         public void build() {
             //Transitions
             transitions.add(new Transition(() -> {
-                return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
-            }, WristStateMachine.idleState));
+                return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
+            }, WristStateMachine.idleState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.IDLE_BUTTON)));
 
             transitions.add(new Transition(() -> {
-                return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
-            }, WristStateMachine.scoreLowState));
+                return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
+            }, WristStateMachine.scoreLowState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON)));
 
             transitions.add(new Transition(() -> {
-                return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
-            }, WristStateMachine.scoreMidState));
+                return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
+            }, WristStateMachine.scoreMidState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.MID_SCORE_BUTTON)));
 
             transitions.add(new Transition(() -> {
-                return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
-            }, WristStateMachine.scoreHighState));
+                return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
+            }, WristStateMachine.scoreHighState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON)));
 
             transitions.add(new Transition(() -> {
-                return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
-            }, WristStateMachine.substationIntakeState));
+                return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
+            }, WristStateMachine.substationIntakeState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON)));
 
             transitions.add(new Transition(() -> {
-                return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.GROUND_INTAKE_FRONT);
-            }, WristStateMachine.groundIntakeState));
+                return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.GROUND_INTAKE_FRONT);
+            }, WristStateMachine.groundIntakeState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.GROUND_INTAKE_FRONT)));
         }
     
         @Override
@@ -47,7 +48,7 @@ public class ManualState extends State{
     
         @Override
         public void execute() {
-            double rotationVal = RobotMap.manipulatorController.getRightX();
+            double rotationVal = RobotMap.inputs.manipulator.getRightX();
             RobotMap.wrist.manualDrive(RobotMap.wrist.applyDeadband(rotationVal) * 0.25);
 
         }
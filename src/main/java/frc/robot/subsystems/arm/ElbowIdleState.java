@@ -20,15 +20,15 @@
 //         }, ArmStateMachine.idleState));
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
 //         }, ArmStateMachine.manualMoveState));
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
 //         }, ArmStateMachine.substationIntakeState));
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawAxis(Constants.ManipulatorControls.GROUND_INTAKE_FRONT) > 0.25;
+//             return RobotMap.inputs.manipulator.getRawAxis(Constants.ManipulatorControls.GROUND_INTAKE_FRONT) > 0.25;
 //         }, ArmStateMachine.groundPickupState));
 //     }
     
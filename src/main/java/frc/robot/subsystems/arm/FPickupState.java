@@ -17,15 +17,15 @@
 //     public void build() {
 //         // Go to IDLE Transitions
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
 //         }, ArmStateMachine.elbowIdleState));
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
 //         }, ArmStateMachine.manualMoveState));
         
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
 //         }, ArmStateMachine.substationIntakeState));
 //     }
 
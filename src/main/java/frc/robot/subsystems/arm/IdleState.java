@@ -17,29 +17,29 @@
 //         // intake from substation
 //         // if intake button == T and claw sensor == F
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
 //         }, ArmStateMachine.substationIntakeState));
 
 //         // pickup from ground
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawAxis(Constants.ManipulatorControls.GROUND_INTAKE_FRONT) > 0.25;
+//             return RobotMap.inputs.manipulator.getRawAxis(Constants.ManipulatorControls.GROUND_INTAKE_FRONT) > 0.25;
 //         }, ArmStateMachine.groundPickupState));
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
 //         }, ArmStateMachine.scoreHighState));
         
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
 //         }, ArmStateMachine.scoreMidState));
         
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
 //         }, ArmStateMachine.scoreLowState));
 
 //         // transition to control arm manually
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
 //         }, ArmStateMachine.manualMoveState));
 //     }
     
@@ -21,23 +21,23 @@
 //     public void build(){
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.HIGH_SCORE_BUTTON);
 //         }, ArmStateMachine.scoreHighState));
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
 //         }, ArmStateMachine.scoreMidState));
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
 //         }, ArmStateMachine.scoreLowState));
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawAxis(Constants.ManipulatorControls.GROUND_INTAKE_FRONT) > 0.25;
+//             return RobotMap.inputs.manipulator.getRawAxis(Constants.ManipulatorControls.GROUND_INTAKE_FRONT) > 0.25;
 //         }, ArmStateMachine.groundPickupState));
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.SUBSTATION_INTAKE_BUTTON);
 //         }, ArmStateMachine.substationIntakeState));
 //     }
 
@@ -49,10 +49,10 @@
 //     @Override
 //     public void execute() {
         
-//         double elbowInput = RobotMap.manipulatorController.getRawAxis(ManipulatorControls.ELBOW_AXIS);
+//         double elbowInput = RobotMap.inputs.manipulator.getRawAxis(ManipulatorControls.ELBOW_AXIS);
 //         RobotMap.leftElbowMotor.set(ControlMode.PercentOutput, RobotMap.arm.applyDeadband(elbowInput) * 0.31);
 
-//         double shoulderInput = RobotMap.manipulatorController.getRawAxis(ManipulatorControls.SHOULDER_AXIS);
+//         double shoulderInput = RobotMap.inputs.manipulator.getRawAxis(ManipulatorControls.SHOULDER_AXIS);
 //         RobotMap.leftShoulderMotor.set(ControlMode.PercentOutput, RobotMap.arm.applyDeadband(-shoulderInput) * 0.31);
 //     }
 
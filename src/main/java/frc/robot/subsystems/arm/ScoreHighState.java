@@ -17,21 +17,21 @@
 //     public void build() {
 //         // Go to IDLE Transitions
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
 //         }, ArmStateMachine.elbowIdleState));
 
 //         // transition to mid level
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MID_SCORE_BUTTON);
 //         }, ArmStateMachine.scoreMidState));
 
 //         // transition to hybrid level
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.LOW_SCORE_BUTTON);
 //         }, ArmStateMachine.scoreLowState));
 
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
 //         }, ArmStateMachine.manualMoveState));
 //     }
     
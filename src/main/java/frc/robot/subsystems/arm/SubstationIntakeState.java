@@ -17,16 +17,16 @@
 //     public void build() {
 //         // Go to IDLE Transitions
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
+//             return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.IDLE_BUTTON);
 //         }, ArmStateMachine.idleState));
 
 //        transitions.add(new Transition(() -> {
-//         return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
+//         return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.MANUAL_MODE_BUTTON);
 //        }, ArmStateMachine.manualMoveState));
        
 //         // pickup from ground
 //         transitions.add(new Transition(() -> {
-//             return RobotMap.manipulatorController.getRawAxis(Constants.ManipulatorControls.GROUND_INTAKE_FRONT) > 0.25;
+//             return RobotMap.inputs.manipulator.getRawAxis(Constants.ManipulatorControls.GROUND_INTAKE_FRONT) > 0.25;
 //         }, ArmStateMachine.groundPickupState));
 //     }
     
@@ -12,13 +12,17 @@ import edu.wpi.first.wpilibj.smartdashboard.FieldObject2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Constants;
 import frc.robot.RobotMap;
+import frc.robot.lib.interfaces.LED;
 import frc.robot.lib.interfaces.Swerve.Swerve;
+import frc.robot.lib.log.ConsoleLog;
 import frc.robot.lib.statemachine.State;
 import frc.robot.lib.statemachine.Transition;
 
 /** State to auto-align to a known position on the field */
 public class FollowTag extends State {
 
+    private static final ConsoleLog.Site log = ConsoleLog.site("FollowTag", ConsoleLog.Level.INFO, 0.0);
+
     private final PIDController xController =
         new PIDController(
             3, 0.01, 0.0
@@ -38,10 +42,10 @@ public class FollowTag extends State {
     public void build() {
         // if driver joysticks are engaged, transition to teleop state
         addTransition(new Transition(() -> {
-            return Math.abs(RobotMap.driverController.getLeftX()) > Constants.STICK_DEADBAND || 
-                Math.abs(RobotMap.driverController.getLeftY()) > Constants.STICK_DEADBAND || 
-                Math.abs(RobotMap.driverController.getRightX()) > Constants.STICK_DEADBAND ||
-                Math.abs(RobotMap.driverController.getRightY()) > Constants.STICK_DEADBAND;
+            return Math.abs(RobotMap.inputs.driver.getLeftX()) > Constants.STICK_DEADBAND || 
+                Math.abs(RobotMap.inputs.driver.getLeftY()) > Constants.STICK_DEADBAND || 
+                Math.abs(RobotMap.inputs.driver.getRightX()) > Constants.STICK_DEADBAND ||
+                Math.abs(RobotMap.inputs.driver.getRightY()) > Constants.STICK_DEADBAND;
         }, DrivetrainStateMachine.teleopSwerve));
     }
 
@@ -52,7 +56,7 @@ public class FollowTag extends State {
         thetaController.enableContinuousInput(-180.0, 180.0);
         Pose2d targetPose = RobotMap.swerve.getClosestPose();
         if (currentPose.getTranslation().getDistance(targetPose.getTranslation()) > 2.0) {
-            System.out.println("No Close Target!");
+            log.log("No Close Target!");
             RobotMap.drivetrainStateMachine.setCurrentState(DrivetrainStateMachine.teleopSwerve);
         }
     }
@@ -79,6 +83,8 @@ public class FollowTag extends State {
         double currentPoseY = Swerve.swerveOdometry.getEstimatedPosition().getY();
         double currentPoseRotation = Swerve.swerveOdometry.getEstimatedPosition().getRotation().getDegrees();
 
+        LED.showAlignment(Math.hypot(targetPoseX - currentPoseX, targetPoseY - currentPoseY));
+
         double translationVal = xController.calculate(currentPoseX, targetPoseX);
         double strafeVal = yController.calculate(currentPoseY, targetPoseY);
         double rotationVal = thetaController.calculate(currentPoseRotation, targetPoseRotation);
@@ -118,6 +124,7 @@ public class FollowTag extends State {
 
     @Override
     public void exit(State nextState) {
+        LED.clearAlignment();
         RobotMap.swerve.drive(
             new Translation2d(0, 0).times(Constants.SWERVE.MAX_SPEED), 
             0 * Constants.SWERVE.MAX_ANGULAR_VELOCITY, 
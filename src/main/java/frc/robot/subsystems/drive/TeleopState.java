@@ -42,11 +42,11 @@ public class TeleopState extends State {
     @Override
     public void build() {
         addTransition(new Transition(() -> {
-            return RobotMap.driverController.getRawAxis(Constants.DriverControls.AUTO_ALIGN_AXIS) > 0.25;
+            return RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.AUTO_ALIGN_AXIS) > 0.25;
         }, DrivetrainStateMachine.followTag));
 
         addTransition(new Transition(() -> {
-            return RobotMap.driverController.getRawButton(Constants.DriverControls.AUTO_BALANCE_BUTTON);
+            return RobotMap.inputs.driver.getRawButton(Constants.DriverControls.AUTO_BALANCE_BUTTON);
         }, DrivetrainStateMachine.balanceState));
     }
 
@@ -63,9 +63,9 @@ public class TeleopState extends State {
         //     SmartDashboard.putNumber("Mod " + mod.moduleNumber + " Velocity", mod.getState().speedMetersPerSecond);
         // }
         
-        translationVal = -1.0 * MathUtil.applyDeadband(-RobotMap.driverController.getRawAxis(Constants.DriverControls.TRANSLATION_VAL), Constants.STICK_DEADBAND);
-        strafeVal = -1.0 * MathUtil.applyDeadband(-RobotMap.driverController.getRawAxis(Constants.DriverControls.STRAFE_VAL), Constants.STICK_DEADBAND);
-        rotationVal = MathUtil.applyDeadband(-RobotMap.driverController.getRawAxis(Constants.DriverControls.ROTATION_VAL), Constants.STICK_DEADBAND);
+        translationVal = -1.0 * MathUtil.applyDeadband(-RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.TRANSLATION_VAL), Constants.STICK_DEADBAND);
+        strafeVal = -1.0 * MathUtil.applyDeadband(-RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.STRAFE_VAL), Constants.STICK_DEADBAND);
+        rotationVal = MathUtil.applyDeadband(-RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.ROTATION_VAL), Constants.STICK_DEADBAND);
 
         Logger.getInstance().recordOutput("translavtional", translationVal);
         Logger.getInstance().recordOutput("strafe", strafeVal);
@@ -73,13 +73,13 @@ public class TeleopState extends State {
 
 
         // if (DriverStation.getAlliance() == DriverStation.Alliance.Blue) {
-        //     translationVal = MathUtil.applyDeadband(-RobotMap.driverController.getRawAxis(Constants.DriverControls.TRANSLATION_VAL), Constants.STICK_DEADBAND);
-        //     strafeVal = MathUtil.applyDeadband(-RobotMap.driverController.getRawAxis(Constants.DriverControls.STRAFE_VAL), Constants.STICK_DEADBAND);
-        //     rotationVal = MathUtil.applyDeadband(-RobotMap.driverController.getRawAxis(Constants.DriverControls.ROTATION_VAL), Constants.STICK_DEADBAND);
+        //     translationVal = MathUtil.applyDeadband(-RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.TRANSLATION_VAL), Constants.STICK_DEADBAND);
+        //     strafeVal = MathUtil.applyDeadband(-RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.STRAFE_VAL), Constants.STICK_DEADBAND);
+        //     rotationVal = MathUtil.applyDeadband(-RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.ROTATION_VAL), Constants.STICK_DEADBAND);
         // } else if (DriverStation.getAlliance() == DriverStation.Alliance.Red) {
-        //     translationVal = -1.0 * MathUtil.applyDeadband(-RobotMap.driverController.getRawAxis(Constants.DriverControls.TRANSLATION_VAL), Constants.STICK_DEADBAND);
-        //     strafeVal = -1.0 * MathUtil.applyDeadband(-RobotMap.driverController.getRawAxis(Constants.DriverControls.STRAFE_VAL), Constants.STICK_DEADBAND);
-        //     rotationVal = MathUtil.applyDeadband(-RobotMap.driverController.getRawAxis(Constants.DriverControls.ROTATION_VAL), Constants.STICK_DEADBAND);
+        //     translationVal = -1.0 * MathUtil.applyDeadband(-RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.TRANSLATION_VAL), Constants.STICK_DEADBAND);
+        //     strafeVal = -1.0 * MathUtil.applyDeadband(-RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.STRAFE_VAL), Constants.STICK_DEADBAND);
+        //     rotationVal = MathUtil.applyDeadband(-RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.ROTATION_VAL), Constants.STICK_DEADBAND);
         // }
 
         // anti-drifting
@@ -101,7 +101,7 @@ public class TeleopState extends State {
         //     SmartDashboard.putNumber("PID rotation value", rotationVal);
         // }
 
-        if (RobotMap.driverController.getRawButton(Constants.DriverControls.ZERO_GYRO)) {
+        if (RobotMap.inputs.driver.getRawButton(Constants.DriverControls.ZERO_GYRO)) {
             Translation2d current_coords = Swerve.swerveOdometry.getEstimatedPosition().getTranslation();
             if (DriverStation.getAlliance() == DriverStation.Alliance.Red) {
                 RobotMap.swerve.resetOdometry(new Pose2d(current_coords, Rotation2d.fromDegrees(180.0)));
@@ -140,7 +140,8 @@ public class TeleopState extends State {
 
 
         RobotMap.swerve.drive(
-            new Translation2d(translationVal, strafeVal).times(Constants.SWERVE.MAX_SPEED), 
+            translationVal * Constants.SWERVE.MAX_SPEED,
+            strafeVal * Constants.SWERVE.MAX_SPEED,
             rotationVal * Constants.SWERVE.MAX_ANGULAR_VELOCITY, 
             true,
             true
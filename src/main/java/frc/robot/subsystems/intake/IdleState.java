@@ -8,6 +8,7 @@ import frc.robot.Constants;
 import frc.robot.RobotMap;
 import frc.robot.lib.statemachine.State;
 import frc.robot.lib.statemachine.Transition;
+import frc.robot.lib.util.InputSnapshot;
 import frc.robot.subsystems.LED.LEDStateMachine;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
@@ -19,16 +20,16 @@ public class IdleState extends State {
     public void build() {
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawAxis(Constants.ManipulatorControls.INTAKE_AXIS) > 0.25;
-        }, IntakeStateMachine.intakingState));
+            return RobotMap.inputs.manipulator.getRawAxis(Constants.ManipulatorControls.INTAKE_AXIS) > 0.25;
+        }, IntakeStateMachine.intakingState).dependsOn(InputSnapshot.manipulatorAxis(Constants.ManipulatorControls.INTAKE_AXIS)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.OUTTAKE_BUTTON);
-        }, IntakeStateMachine.outtakingState));
+            return RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.OUTTAKE_BUTTON);
+        }, IntakeStateMachine.outtakingState).dependsOn(InputSnapshot.manipulatorButton(Constants.ManipulatorControls.OUTTAKE_BUTTON)));
 
         transitions.add(new Transition(() -> {
-            return RobotMap.driverController.getRawAxis(Constants.DriverControls.SCORING_AXIS) > 0.25;
-        }, IntakeStateMachine.outtakingState));
+            return RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.SCORING_AXIS) > 0.25;
+        }, IntakeStateMachine.outtakingState).dependsOn(InputSnapshot.driverAxis(Constants.DriverControls.SCORING_AXIS)));
         
     }
 
@@ -8,6 +8,7 @@ import frc.robot.Constants;
 import frc.robot.RobotMap;
 import frc.robot.lib.statemachine.State;
 import frc.robot.lib.statemachine.Transition;
+import frc.robot.lib.util.InputSnapshot;
 import frc.robot.subsystems.LED.LEDStateMachine;
 
 /** Add your docs here. */
@@ -16,8 +17,8 @@ public class IntakingState extends State {
     @Override
     public void build() {
         transitions.add(new Transition(() -> {
-            return RobotMap.manipulatorController.getRawAxis(Constants.ManipulatorControls.INTAKE_AXIS) < 0.25;
-        }, IntakeStateMachine.idleState));
+            return RobotMap.inputs.manipulator.getRawAxis(Constants.ManipulatorControls.INTAKE_AXIS) < 0.25;
+        }, IntakeStateMachine.idleState).dependsOn(InputSnapshot.manipulatorAxis(Constants.ManipulatorControls.INTAKE_AXIS)));
 
     }
 
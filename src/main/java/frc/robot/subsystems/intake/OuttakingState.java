@@ -8,6 +8,7 @@ import frc.robot.Constants;
 import frc.robot.RobotMap;
 import frc.robot.lib.statemachine.State;
 import frc.robot.lib.statemachine.Transition;
+import frc.robot.lib.util.InputSnapshot;
 import frc.robot.subsystems.LED.LEDStateMachine;
 
 /** Add your docs here. */
@@ -17,9 +18,11 @@ public class OuttakingState extends State {
     public void build() {
 
         transitions.add(new Transition(() -> {
-            return !RobotMap.manipulatorController.getRawButton(Constants.ManipulatorControls.OUTTAKE_BUTTON) && 
-                RobotMap.driverController.getRawAxis(Constants.DriverControls.SCORING_AXIS) < 0.25;
-        }, IntakeStateMachine.idleState));
+            return !RobotMap.inputs.manipulator.getRawButton(Constants.ManipulatorControls.OUTTAKE_BUTTON) && 
+                RobotMap.inputs.driver.getRawAxis(Constants.DriverControls.SCORING_AXIS) < 0.25;
+        }, IntakeStateMachine.idleState).dependsOn(
+            InputSnapshot.manipulatorButton(Constants.ManipulatorControls.OUTTAKE_BUTTON)
+                | InputSnapshot.driverAxis(Constants.DriverControls.SCORING_AXIS)));
     }
 
     @Override
@@ -0,0 +1,244 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.littletonrobotics.junction.Logger;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.Constants;
+import frc.robot.LoopStage;
+import frc.robot.Robot;
+import frc.robot.RobotMap;
+import frc.robot.lib.util.AllocationMeter;
+import frc.robot.lib.util.LoopProfiler;
+
+/**
+ * Runs the main robot loop against stub IO and fails if it allocates more than a byte budget per
+ * iteration. Each iteration is robotPeriodic followed by teleopPeriodic or autonomousPeriodic, on
+ * this thread. Before each one a captured Limelight result is republished to NetworkTables with a
+ * new ts, so LimelightIngest sees a new frame and the vision path runs for real. Allocation is
+ * split by subsystem using the loop profiler's stages.
+ *
+ * <p>The autonomous phase picks AUTO_MODE on the chooser and starts it through disabledInit,
+ * disabledPeriodic and autonomousInit like a match would, so the AUTO stage measures the robot
+ * loop stepping a running routine.
+ *
+ * <p>Run with ./gradlew allocationBudget, optionally passing -PperfIterations, -PperfWarmup and
+ * -PperfBudgetBytes. Exits with status 1 when either phase goes over the budget.
+ */
+public class AllocationBudgetHarness {
+    private static final String LIMELIGHT_FIXTURE = "/limelight/single_tag.json";
+    // the chooser option name, the only routine AutoModeSelector builds besides Do Nothing.
+    // The elevator IO is a stub, so it waits on the arm for the whole phase
+    private static final String AUTO_MODE = "Bot Simple Score Cone";
+
+    private static NetworkTableEntry limelightJson;
+    // the fixture split around the value of its Results ts, which frames are deduplicated by
+    private static String jsonBeforeTimestamp;
+    private static String jsonAfterTimestamp;
+    private static double limelightTimestamp;
+
+    private final Robot robot;
+    private final LoopProfiler<LoopStage> profiler;
+    private final AllocationMeter meter;
+    private final int iterations;
+    private final int warmup;
+    private final long budgetBytes;
+
+    private AllocationBudgetHarness(Robot robot, int iterations, int warmup, long budgetBytes) {
+        this.robot = robot;
+        this.profiler = RobotMap.loopProfiler;
+        this.meter = new AllocationMeter();
+        this.iterations = iterations;
+        this.warmup = warmup;
+        this.budgetBytes = budgetBytes;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int iterations = Integer.getInteger("perf.iterations", 500);
+        int warmup = Integer.getInteger("perf.warmup", 250);
+        long budgetBytes = Long.getLong("perf.budgetBytes", 256 * 1024);
+
+        if (!AllocationMeter.isSupported()) {
+            System.err.println("This JVM can't report per-thread allocation, nothing to measure");
+            System.exit(1);
+        }
+        if (!HAL.initialize(500, 0)) {
+            throw new IllegalStateException("Failed to initialize the HAL");
+        }
+
+        DriverStationSim.setDsAttached(true);
+        DriverStationSim.setAllianceStationId(AllianceStationID.Blue1);
+        DriverStationSim.setEnabled(true);
+        loadLimelightFixture();
+
+        Logger.getInstance().start();
+        RobotMap.init(Constants.Mode.SIM);
+        Robot robot = new Robot();
+        RobotMap.loopProfiler.setEnabled(true);
+
+        AllocationBudgetHarness harness = new AllocationBudgetHarness(robot, iterations, warmup, budgetBytes);
+        boolean teleopPassed = harness.runPhase(false);
+        boolean autoPassed = harness.runPhase(true);
+
+        System.out.println(teleopPassed && autoPassed ? "Allocation budget met" : "Allocation budget exceeded");
+        // NetworkTables and the HAL leave non-daemon threads behind, so exit explicitly
+        System.exit(teleopPassed && autoPassed ? 0 : 1);
+    }
+
+    private boolean runPhase(boolean autonomous) {
+        String phase = autonomous ? "Autonomous" : "Teleop";
+        DriverStationSim.setAutonomous(autonomous);
+        DriverStationSim.notifyNewData();
+        DriverStation.refreshData();
+        if (autonomous) {
+            startAutoMode();
+        } else {
+            robot.teleopInit();
+        }
+
+        // let the JIT settle and every lazily built object (field targets, the first Limelight frame) get made
+        for (int i = 0; i < warmup; i++) {
+            DriverStation.refreshData();
+            publishLimelightFrame();
+            runIteration(autonomous);
+        }
+
+        profiler.setAllocationTracking(true);
+        long totalBytes = 0;
+        long maxBytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            DriverStation.refreshData();
+            // outside the measurement, building the string allocates on this thread
+            publishLimelightFrame();
+            long start = meter.read();
+            runIteration(autonomous);
+            long bytes = meter.delta(start, meter.read());
+            totalBytes += bytes;
+            maxBytes = Math.max(maxBytes, bytes);
+        }
+
+        Map<String, Long> bySubsystem = new LinkedHashMap<>();
+        long stageBytes = 0;
+        for (LoopStage stage : LoopStage.values()) {
+            long bytes = profiler.getAllocatedBytes(stage);
+            bySubsystem.merge(subsystemOf(stage), bytes, Long::sum);
+            stageBytes += bytes;
+        }
+        bySubsystem.put("Mode periodic + profiler", Math.max(0, totalBytes - stageBytes));
+        profiler.setAllocationTracking(false);
+
+        long meanBytes = totalBytes / iterations;
+        System.out.println();
+        System.out.printf("%s: %d iterations after %d warmup%n", phase, iterations, warmup);
+        for (Map.Entry<String, Long> entry : bySubsystem.entrySet()) {
+            System.out.printf("  %-26s %10d B/iter%n", entry.getKey(), entry.getValue() / iterations);
+        }
+        System.out.printf("  %-26s %10d B/iter (max %d B, budget %d B)%n", "Total", meanBytes, maxBytes, budgetBytes);
+
+        if (autonomous) {
+            // stops the routine's thread
+            robot.disabledInit();
+        }
+
+        return meanBytes <= budgetBytes;
+    }
+
+    private void startAutoMode() {
+        NetworkTableInstance.getDefault()
+            .getTable("SmartDashboard")
+            .getSubTable("Auto Mode")
+            .getEntry("selected")
+            .setString(AUTO_MODE);
+        // the chooser only reads its selection when the dashboard values update
+        SmartDashboard.updateValues();
+        robot.disabledInit();
+        robot.disabledPeriodic();
+        robot.autonomousInit();
+    }
+
+    private void runIteration(boolean autonomous) {
+        robot.robotPeriodic();
+        if (autonomous) {
+            robot.autonomousPeriodic();
+        } else {
+            robot.teleopPeriodic();
+        }
+    }
+
+    private static String subsystemOf(LoopStage stage) {
+        switch (stage) {
+            case INPUTS:
+                return "Inputs";
+            case DRIVETRAIN_STATE_MACHINE:
+            case INTAKE_STATE_MACHINE:
+            case ELEVATOR_STATE_MACHINE:
+            case WRIST_STATE_MACHINE:
+                return "State machines";
+            case SWERVE_UPDATE_POSES:
+            case SWERVE_PERIODIC:
+                return "Swerve";
+            case VISION:
+                return "Vision";
+            case AUTO:
+                return "Auto";
+            case ELEVATOR_PERIODIC:
+                return "Elevator";
+            case WRIST_PERIODIC:
+                return "Wrist";
+            case LED_STATE_MACHINE:
+            case LED_PERIODIC:
+                return "LED";
+            case DASHBOARD:
+                return "Dashboard";
+            default:
+                return "Scheduler";
+        }
+    }
+
+    // the json the Limelight would publish while looking at one tag
+    private static void loadLimelightFixture() throws IOException {
+        String json;
+        try (InputStream stream = AllocationBudgetHarness.class.getResourceAsStream(LIMELIGHT_FIXTURE)) {
+            if (stream == null) {
+                throw new IOException("Missing resource " + LIMELIGHT_FIXTURE);
+            }
+            json = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // the fiducials have a ts of their own, the frame's comes after the latencies
+        int key = json.indexOf("\"ts\":", json.indexOf("\"tl\":"));
+        if (key < 0) {
+            throw new IOException("No Results ts in " + LIMELIGHT_FIXTURE);
+        }
+        int start = key + "\"ts\":".length();
+        int end = start;
+        while (end < json.length() && "-+.0123456789eE".indexOf(json.charAt(end)) >= 0) {
+            end++;
+        }
+        jsonBeforeTimestamp = json.substring(0, start);
+        jsonAfterTimestamp = json.substring(end);
+        limelightTimestamp = Double.parseDouble(json.substring(start, end));
+        limelightJson = NetworkTableInstance.getDefault().getTable(Constants.LIMELIGHT.NAME).getEntry("json");
+    }
+
+    // a new frame every loop like a camera at 50 fps, LimelightIngest drops repeated timestamps
+    private static void publishLimelightFrame() {
+        limelightTimestamp += 20.0;
+        limelightJson.setString(jsonBeforeTimestamp + limelightTimestamp + jsonAfterTimestamp);
+    }
+}